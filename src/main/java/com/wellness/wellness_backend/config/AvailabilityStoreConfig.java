@@ -0,0 +1,31 @@
+package com.wellness.wellness_backend.config;
+
+import com.wellness.wellness_backend.service.AvailabilityStore;
+import com.wellness.wellness_backend.service.DayMaskAvailabilityStore;
+import com.wellness.wellness_backend.service.RowAvailabilityStore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+// Picks the availability storage format injected as AvailabilityStore.
+// Both implementations stay available by class (e.g. for migration).
+@Configuration
+public class AvailabilityStoreConfig {
+
+    @Bean
+    @Primary
+    public AvailabilityStore availabilityStore(
+            @Value("${app.availability.storage:rows}") String storage,
+            RowAvailabilityStore rows,
+            DayMaskAvailabilityStore dayMasks) {
+
+        return switch (storage) {
+            case "rows" -> rows;
+            case "day-mask" -> dayMasks;
+            default -> throw new IllegalStateException(
+                    "Unknown app.availability.storage: " + storage);
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.search.SlotAvailabilityIndex;
+import com.wellness.wellness_backend.service.AvailabilityTemplateService;
+import com.wellness.wellness_backend.service.PractitionerAvailabilityService;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/availability")
+public class AdminAvailabilityController {
+
+    private final PractitionerAvailabilityService availabilityService;
+    private final AvailabilityTemplateService templateService;
+    private final SlotAvailabilityIndex slotIndex;
+
+    public AdminAvailabilityController(PractitionerAvailabilityService availabilityService,
+                                       AvailabilityTemplateService templateService,
+                                       SlotAvailabilityIndex slotIndex) {
+        this.availabilityService = availabilityService;
+        this.templateService = templateService;
+        this.slotIndex = slotIndex;
+    }
+
+    // ================================
+    // ROWS -> DAY MASKS (ADMIN)
+    // ================================
+    @PostMapping("/migrate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> migrate() {
+        Map<String, Object> result = availabilityService.migrateToDayMasks();
+        // the index may now be missing migrated slots
+        slotIndex.rebuild();
+        return result;
+    }
+
+    // ================================
+    // EXPAND TEMPLATES NOW (ADMIN)
+    // ================================
+    @PostMapping("/templates/expand")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> expandTemplates() {
+        return templateService.expandAll();
+    }
+}
@@ -0,0 +1,28 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.service.BookingReminderService;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/bookings")
+public class AdminBookingController {
+
+    private final BookingReminderService reminderService;
+
+    public AdminBookingController(BookingReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+
+    // ================================
+    // REMINDER WHEEL (ADMIN)
+    // ================================
+    @GetMapping("/reminders/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> reminderStats() {
+        return reminderService.stats();
+    }
+}
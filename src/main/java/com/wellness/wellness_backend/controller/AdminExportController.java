@@ -0,0 +1,71 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.service.ExportService;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin/export")
+public class AdminExportController {
+
+    private final ExportService exportService;
+
+    public AdminExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // ================================
+    // PRODUCTS (ADMIN)
+    // ================================
+    @GetMapping("/products")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> products(
+            @RequestParam(defaultValue = ExportService.NDJSON) String format
+    ) {
+        String f = ExportService.normalizeFormat(format);
+        return download("products", f, out -> exportService.exportProducts(f, out));
+    }
+
+    // ================================
+    // ORDERS WITH ITEMS (ADMIN)
+    // ================================
+    @GetMapping("/orders")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> orders(
+            @RequestParam(defaultValue = ExportService.NDJSON) String format,
+            @RequestParam(defaultValue = "false") boolean includeArchived
+    ) {
+        String f = ExportService.normalizeFormat(format);
+        return download("orders", f, out -> exportService.exportOrders(f, includeArchived, out));
+    }
+
+    // ================================
+    // USERS (ADMIN, no password hashes)
+    // ================================
+    @GetMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> users(
+            @RequestParam(defaultValue = ExportService.NDJSON) String format
+    ) {
+        String f = ExportService.normalizeFormat(format);
+        return download("users", f, out -> exportService.exportUsers(f, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name,
+                                                           String format,
+                                                           StreamingResponseBody body) {
+        boolean csv = ExportService.CSV.equals(format);
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv")
+                        : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,52 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.service.FlashSaleService;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/flash-sales")
+public class AdminFlashSaleController {
+
+    private final FlashSaleService flashSaleService;
+
+    public AdminFlashSaleController(FlashSaleService flashSaleService) {
+        this.flashSaleService = flashSaleService;
+    }
+
+    // ================================
+    // LIST RUNNING SALES (ADMIN)
+    // ================================
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<Map<String, Object>> status() {
+        return flashSaleService.status();
+    }
+
+    // ================================
+    // START FLASH SALE (ADMIN)
+    // ================================
+    @PostMapping("/{productId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> start(
+            @PathVariable Long productId,
+            @RequestParam(required = false) Integer shards,
+            @RequestParam(required = false) Integer concurrency,
+            @RequestParam(required = false) Integer queueCapacity
+    ) {
+        return flashSaleService.start(productId, shards, concurrency, queueCapacity);
+    }
+
+    // ================================
+    // END FLASH SALE (ADMIN)
+    // ================================
+    @DeleteMapping("/{productId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> end(@PathVariable Long productId) {
+        return flashSaleService.end(productId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.dto.BulkOrderStatusRequest;
+import com.wellness.wellness_backend.dto.BulkOrderStatusResult;
+import com.wellness.wellness_backend.service.OrderArchiveService;
+import com.wellness.wellness_backend.service.OrderBulkStatusService;
+
+import jakarta.validation.Valid;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/orders")
+public class AdminOrderController {
+
+    private final OrderBulkStatusService orderBulkStatusService;
+    private final OrderArchiveService orderArchiveService;
+
+    public AdminOrderController(OrderBulkStatusService orderBulkStatusService,
+                                OrderArchiveService orderArchiveService) {
+        this.orderBulkStatusService = orderBulkStatusService;
+        this.orderArchiveService = orderArchiveService;
+    }
+
+    // ================================
+    // BULK STATUS CHANGE (ADMIN)
+    // by id list or by fromStatus + created range
+    // ================================
+    @PostMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkOrderStatusResult bulkUpdateStatus(@Valid @RequestBody BulkOrderStatusRequest req) {
+        return orderBulkStatusService.apply(req);
+    }
+
+    // ================================
+    // RUN ARCHIVE JOB NOW (ADMIN)
+    // ================================
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> archive() {
+        return orderArchiveService.archive();
+    }
+}
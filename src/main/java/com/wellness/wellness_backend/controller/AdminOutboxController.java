@@ -0,0 +1,28 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.service.OutboxRelay;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class AdminOutboxController {
+
+    private final OutboxRelay outboxRelay;
+
+    public AdminOutboxController(OutboxRelay outboxRelay) {
+        this.outboxRelay = outboxRelay;
+    }
+
+    // ================================
+    // RELAY LAG / BACKLOG (ADMIN)
+    // ================================
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> stats() {
+        return outboxRelay.stats();
+    }
+}
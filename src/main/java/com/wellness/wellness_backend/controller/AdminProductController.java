@@ -0,0 +1,28 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.service.ProductService;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/products")
+public class AdminProductController {
+
+    private final ProductService productService;
+
+    public AdminProductController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    // ================================
+    // PRODUCT CACHE METRICS (ADMIN)
+    // ================================
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> cacheStats() {
+        return productService.cacheStats();
+    }
+}
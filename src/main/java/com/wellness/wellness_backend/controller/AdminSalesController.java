@@ -0,0 +1,63 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.dto.SalesRollupDTO;
+import com.wellness.wellness_backend.dto.SalesTotalDTO;
+import com.wellness.wellness_backend.model.RollupGranularity;
+import com.wellness.wellness_backend.service.SalesRollupService;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/sales")
+public class AdminSalesController {
+
+    private final SalesRollupService salesRollupService;
+
+    public AdminSalesController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    // ================================
+    // SALES PER PRODUCT PER BUCKET (ADMIN)
+    // ================================
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<SalesRollupDTO> byProduct(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String seller
+    ) {
+        return salesRollupService.byProduct(granularity, from, to, productId, seller);
+    }
+
+    // ================================
+    // SALES PER SELLER PER BUCKET (ADMIN)
+    // ================================
+    @GetMapping("/sellers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<SalesTotalDTO> bySeller(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String seller
+    ) {
+        return salesRollupService.bySeller(granularity, from, to, seller);
+    }
+
+    // ================================
+    // REBUILD ROLLUPS FROM ORDERS (ADMIN)
+    // ================================
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> rebuild() {
+        return salesRollupService.rebuild();
+    }
+}
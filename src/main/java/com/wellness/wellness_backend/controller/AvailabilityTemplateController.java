@@ -0,0 +1,57 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.dto.AvailabilityTemplateRequest;
+import com.wellness.wellness_backend.model.AvailabilityTemplate;
+import com.wellness.wellness_backend.security.AuthUser;
+import com.wellness.wellness_backend.service.AvailabilityTemplateService;
+
+import jakarta.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/availability/templates")
+public class AvailabilityTemplateController {
+
+    private final AvailabilityTemplateService templateService;
+
+    public AvailabilityTemplateController(AvailabilityTemplateService templateService) {
+        this.templateService = templateService;
+    }
+
+    // Practitioner publishes a weekly schedule (expanded right away)
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> create(
+            @Valid @RequestBody AvailabilityTemplateRequest request,
+            Authentication authentication) {
+
+        AuthUser user = (AuthUser) authentication.getPrincipal();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(templateService.create(user.getUserId(), request));
+    }
+
+    // Practitioner: own templates
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping
+    public List<AvailabilityTemplate> mine(Authentication authentication) {
+        AuthUser user = (AuthUser) authentication.getPrincipal();
+        return templateService.list(user.getUserId());
+    }
+
+    // Practitioner: stop a template (existing slots stay)
+    @PreAuthorize("isAuthenticated()")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id, Authentication authentication) {
+        AuthUser user = (AuthUser) authentication.getPrincipal();
+        templateService.delete(user.getUserId(), id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,11 +1,13 @@
 package com.wellness.wellness_backend.controller;
 
+import com.wellness.wellness_backend.dto.CartBatchRequest;
 import com.wellness.wellness_backend.dto.CartDTO;
 import com.wellness.wellness_backend.dto.AddCartItemRequest;
 import com.wellness.wellness_backend.dto.UpdateQuantityRequest;
 import com.wellness.wellness_backend.mapper.CartMapper;
 import com.wellness.wellness_backend.model.Cart;
 import com.wellness.wellness_backend.service.CartService;
+import com.wellness.wellness_backend.service.GuestCartService;
 
 import jakarta.validation.Valid;
 
@@ -13,14 +15,22 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/cart")
 public class CartController {
 
+    // guest cart token travels in this header both ways
+    public static final String GUEST_CART_HEADER = "X-Guest-Cart";
+
     private final CartService cartService;
+    private final GuestCartService guestCartService;
 
-    public CartController(CartService cartService) {
+    public CartController(CartService cartService,
+                          GuestCartService guestCartService) {
         this.cartService = cartService;
+        this.guestCartService = guestCartService;
     }
 
     // ============================
@@ -28,8 +38,7 @@ public class CartController {
     // ============================
     @GetMapping
     public CartDTO getCurrentUserCart(Authentication auth) {
-        Cart cart = cartService.getOrCreateCart(auth.getName());
-        return CartMapper.toDTO(cart);
+        return cartService.getCart(auth.getName());
     }
 
     // ============================
@@ -57,12 +66,11 @@ public class CartController {
             @Valid @RequestBody UpdateQuantityRequest req,
             Authentication auth
     ) {
-        Cart cart = cartService.updateItem(
+        return cartService.updateItem(
                 id,
                 req.getQuantity(),
                 auth.getName()
         );
-        return CartMapper.toDTO(cart);
     }
 
     // ============================
@@ -73,8 +81,18 @@ public class CartController {
             @PathVariable Long id,
             Authentication auth
     ) {
-        Cart cart = cartService.removeItem(id, auth.getName());
-        return CartMapper.toDTO(cart);
+        return cartService.removeItem(id, auth.getName());
+    }
+
+    // ============================
+    // BATCH ADD / UPDATE / REMOVE (one transaction)
+    // ============================
+    @PatchMapping
+    public CartDTO applyBatch(
+            @Valid @RequestBody CartBatchRequest req,
+            Authentication auth
+    ) {
+        return cartService.applyBatch(auth.getName(), req.getOperations());
     }
 
     // ============================
@@ -85,4 +103,63 @@ public class CartController {
         cartService.clearCart(auth.getName());
         return ResponseEntity.noContent().build();
     }
+
+    // ============================
+    // GUEST CART (no login, no database rows)
+    // ============================
+    @GetMapping("/guest")
+    public CartDTO getGuestCart(
+            @RequestHeader(value = GUEST_CART_HEADER, required = false) String token
+    ) {
+        return guestCartService.toDTO(guestCartService.readItems(token));
+    }
+
+    @PostMapping("/guest/items")
+    public ResponseEntity<CartDTO> addGuestItem(
+            @Valid @RequestBody AddCartItemRequest req,
+            @RequestHeader(value = GUEST_CART_HEADER, required = false) String token
+    ) {
+        return guestResponse(guestCartService.addItem(
+                token,
+                req.getProductId(),
+                req.getQuantity()
+        ));
+    }
+
+    @PutMapping("/guest/items/{productId}")
+    public ResponseEntity<CartDTO> updateGuestItem(
+            @PathVariable Long productId,
+            @Valid @RequestBody UpdateQuantityRequest req,
+            @RequestHeader(value = GUEST_CART_HEADER, required = false) String token
+    ) {
+        return guestResponse(guestCartService.updateItem(token, productId, req.getQuantity()));
+    }
+
+    @DeleteMapping("/guest/items/{productId}")
+    public ResponseEntity<CartDTO> removeGuestItem(
+            @PathVariable Long productId,
+            @RequestHeader(value = GUEST_CART_HEADER, required = false) String token
+    ) {
+        return guestResponse(guestCartService.removeItem(token, productId));
+    }
+
+    // ============================
+    // MERGE GUEST CART AFTER LOGIN
+    // ============================
+    @PostMapping("/merge")
+    public CartDTO mergeGuestCart(
+            @RequestHeader(GUEST_CART_HEADER) String token,
+            Authentication auth
+    ) {
+        return cartService.mergeGuestCart(
+                auth.getName(),
+                guestCartService.readItems(token)
+        );
+    }
+
+    private ResponseEntity<CartDTO> guestResponse(Map<Long, Integer> items) {
+        return ResponseEntity.ok()
+                .header(GUEST_CART_HEADER, guestCartService.writeItems(items))
+                .body(guestCartService.toDTO(items));
+    }
 }
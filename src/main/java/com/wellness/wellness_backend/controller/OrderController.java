@@ -1,37 +1,51 @@
 package com.wellness.wellness_backend.controller;
 
+import com.wellness.wellness_backend.dto.CursorPage;
+import com.wellness.wellness_backend.dto.OrderSummaryDTO;
 import com.wellness.wellness_backend.model.Order;
 import com.wellness.wellness_backend.model.OrderStatus;
+import com.wellness.wellness_backend.service.CheckoutIdempotencyService;
 import com.wellness.wellness_backend.service.OrderService;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final CheckoutIdempotencyService checkoutIdempotencyService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           CheckoutIdempotencyService checkoutIdempotencyService) {
         this.orderService = orderService;
+        this.checkoutIdempotencyService = checkoutIdempotencyService;
     }
 
     // =========================
     // CHECKOUT
     // =========================
+    // optional Idempotency-Key: a retry with the same key returns the
+    // original order instead of placing a new one
     @PostMapping("/checkout")
-    public Order checkout(Authentication auth) {
-        return orderService.checkout(auth.getName());
+    public Order checkout(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication auth
+    ) {
+        return checkoutIdempotencyService.checkout(auth.getName(), idempotencyKey);
     }
 
     // =========================
     // GET MY ORDERS
     // =========================
+    // newest first; pass nextCursor from the previous page to continue
     @GetMapping
-    public List<Order> myOrders(Authentication auth) {
-        return orderService.getOrdersByUser(auth.getName());
+    public CursorPage<OrderSummaryDTO> myOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication auth
+    ) {
+        return orderService.getOrderHistory(auth.getName(), cursor, size);
     }
 
     // =========================
@@ -1,6 +1,7 @@
 package com.wellness.wellness_backend.controller;
 
-import com.wellness.wellness_backend.model.PractitionerAvailability;
+import com.wellness.wellness_backend.dto.AvailabilitySlotDTO;
+import com.wellness.wellness_backend.dto.AvailableSlotDTO;
 import com.wellness.wellness_backend.security.AuthUser;
 import com.wellness.wellness_backend.service.PractitionerAvailabilityService;
 
@@ -38,10 +39,22 @@ public class PractitionerAvailabilityController {
 
     // Public: view slots
     @GetMapping("/{practitionerId}")
-    public ResponseEntity<List<PractitionerAvailability>>
+    public ResponseEntity<List<AvailabilitySlotDTO>>
     getSlots(@PathVariable Long practitionerId) {
         return ResponseEntity.ok(
                 service.getAvailableSlots(practitionerId)
         );
     }
+
+    // Public: earliest free slots across practitioners
+    @GetMapping("/earliest")
+    public ResponseEntity<List<AvailableSlotDTO>> earliest(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) LocalDateTime from,
+            @RequestParam(required = false) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(
+                service.findEarliest(specialization, from, to, limit)
+        );
+    }
 }
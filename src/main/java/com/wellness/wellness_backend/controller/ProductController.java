@@ -1,13 +1,20 @@
 package com.wellness.wellness_backend.controller;
 
+import com.wellness.wellness_backend.dto.CursorPage;
+import com.wellness.wellness_backend.dto.ProductImportReport;
+import com.wellness.wellness_backend.dto.ProductFacetsDTO;
 import com.wellness.wellness_backend.model.Product;
 import com.wellness.wellness_backend.service.PractitionerService;
+import com.wellness.wellness_backend.service.ProductImportService;
 import com.wellness.wellness_backend.service.ProductService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,11 +23,14 @@ public class ProductController {
 
     private final ProductService productService;
     private final PractitionerService practitionerService;
+    private final ProductImportService productImportService;
 
     public ProductController(ProductService productService,
-                             PractitionerService practitionerService) {
+                             PractitionerService practitionerService,
+                             ProductImportService productImportService) {
         this.productService = productService;
         this.practitionerService = practitionerService;
+        this.productImportService = productImportService;
     }
 
     @PostMapping
@@ -43,6 +53,36 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
     
+    // bulk create from a CSV / NDJSON upload; authorized once for the whole file
+    // format defaults from the file name (.csv, otherwise ndjson)
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    public ResponseEntity<ProductImportReport> importProducts(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            Authentication auth
+    ) throws IOException {
+
+        String email = auth.getName();
+
+        boolean isAdmin = auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        if (!isAdmin && !practitionerService.isVerifiedPractitionerByEmail(email)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        String f = format != null
+                ? format.toLowerCase()
+                : (file.getOriginalFilename() != null
+                        && file.getOriginalFilename().toLowerCase().endsWith(".csv")
+                        ? ProductImportService.CSV
+                        : ProductImportService.NDJSON);
+
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(productImportService.importProducts(in, f, email));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Product> update(
             @PathVariable Long id,
@@ -95,9 +135,36 @@ public class ProductController {
     }
 
 
+    // GET /api/products?sort=price&direction=asc&size=20&cursor=...
     @GetMapping
-    public List<Product> getAll() {
-        return productService.getAll();
+    public CursorPage<Product> getPage(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return productService.getPage(sort, direction, cursor, size);
+    }
+
+    // GET /api/products/search?q=yoga+mat
+    @GetMapping("/search")
+    public List<Product> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer size
+    ) {
+        return productService.search(q, size);
+    }
+
+    // GET /api/products/facets?category=Yoga&priceBand=10-25&inStock=true&seller=a@b.com
+    @GetMapping("/facets")
+    public ProductFacetsDTO facets(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) String priceBand,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) String seller,
+            @RequestParam(required = false) Integer size
+    ) {
+        return productService.facets(category, priceBand, inStock, seller, size);
     }
 
     @GetMapping("/{id}")
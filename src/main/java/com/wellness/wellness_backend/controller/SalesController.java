@@ -0,0 +1,52 @@
+package com.wellness.wellness_backend.controller;
+
+import com.wellness.wellness_backend.dto.SalesRollupDTO;
+import com.wellness.wellness_backend.dto.SalesTotalDTO;
+import com.wellness.wellness_backend.model.RollupGranularity;
+import com.wellness.wellness_backend.service.SalesRollupService;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Seller dashboard: sales of the caller's own products (Product.ownerEmail)
+@RestController
+@RequestMapping("/api/sales")
+public class SalesController {
+
+    private final SalesRollupService salesRollupService;
+
+    public SalesController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    // =========================
+    // MY SALES PER PRODUCT
+    // =========================
+    @GetMapping("/me")
+    public List<SalesRollupDTO> myProducts(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId,
+            Authentication auth
+    ) {
+        return salesRollupService.byProduct(granularity, from, to, productId, auth.getName());
+    }
+
+    // =========================
+    // MY SALES TOTALS
+    // =========================
+    @GetMapping("/me/totals")
+    public List<SalesTotalDTO> myTotals(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication auth
+    ) {
+        return salesRollupService.bySeller(granularity, from, to, auth.getName());
+    }
+}
@@ -0,0 +1,21 @@
+package com.wellness.wellness_backend.dto;
+
+import java.time.LocalDateTime;
+
+// One practitioner slot, whichever availability storage is active
+public class AvailabilitySlotDTO {
+
+    private Long practitionerId;
+    private LocalDateTime slot;
+    private boolean booked;
+
+    public AvailabilitySlotDTO(Long practitionerId, LocalDateTime slot, boolean booked) {
+        this.practitionerId = practitionerId;
+        this.slot = slot;
+        this.booked = booked;
+    }
+
+    public Long getPractitionerId() { return practitionerId; }
+    public LocalDateTime getSlot() { return slot; }
+    public boolean isBooked() { return booked; }
+}
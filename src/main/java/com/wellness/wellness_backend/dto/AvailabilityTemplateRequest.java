@@ -0,0 +1,62 @@
+package com.wellness.wellness_backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// e.g. {"daysOfWeek":["MONDAY",...,"FRIDAY"], "startTime":"09:00",
+//       "endTime":"17:00", "intervalMinutes":30, "exceptions":["2026-12-25"]}
+public class AvailabilityTemplateRequest {
+
+    @NotEmpty
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull
+    private LocalTime startTime;
+
+    @NotNull
+    private LocalTime endTime;
+
+    @Min(5)
+    @Max(720)
+    private int intervalMinutes;
+
+    // defaults to today
+    private LocalDate validFrom;
+
+    private LocalDate validUntil;
+
+    @Size(max = 366)
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    public AvailabilityTemplateRequest() {}
+
+    public Set<DayOfWeek> getDaysOfWeek() { return daysOfWeek; }
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) { this.daysOfWeek = daysOfWeek; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public int getIntervalMinutes() { return intervalMinutes; }
+    public void setIntervalMinutes(int intervalMinutes) { this.intervalMinutes = intervalMinutes; }
+
+    public LocalDate getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+    public LocalDate getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDate validUntil) { this.validUntil = validUntil; }
+
+    public Set<LocalDate> getExceptions() { return exceptions; }
+    public void setExceptions(Set<LocalDate> exceptions) { this.exceptions = exceptions; }
+}
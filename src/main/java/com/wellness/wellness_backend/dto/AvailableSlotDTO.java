@@ -0,0 +1,29 @@
+package com.wellness.wellness_backend.dto;
+
+import java.time.LocalDateTime;
+
+// One free slot from the availability index
+public class AvailableSlotDTO {
+
+    private Long practitionerId;
+    private String practitionerName;
+    private String specialization;
+    private LocalDateTime slot;
+
+    public AvailableSlotDTO(
+            Long practitionerId,
+            String practitionerName,
+            String specialization,
+            LocalDateTime slot
+    ) {
+        this.practitionerId = practitionerId;
+        this.practitionerName = practitionerName;
+        this.specialization = specialization;
+        this.slot = slot;
+    }
+
+    public Long getPractitionerId() { return practitionerId; }
+    public String getPractitionerName() { return practitionerName; }
+    public String getSpecialization() { return specialization; }
+    public LocalDateTime getSlot() { return slot; }
+}
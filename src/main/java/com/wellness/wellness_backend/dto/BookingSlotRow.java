@@ -0,0 +1,18 @@
+package com.wellness.wellness_backend.dto;
+
+import java.time.LocalDateTime;
+
+// Booking id and time, as read by BookingRepository.findReminderCandidates.
+public class BookingSlotRow {
+
+    private final Long bookingId;
+    private final LocalDateTime slot;
+
+    public BookingSlotRow(Long bookingId, LocalDateTime slot) {
+        this.bookingId = bookingId;
+        this.slot = slot;
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public LocalDateTime getSlot() { return slot; }
+}
@@ -0,0 +1,40 @@
+package com.wellness.wellness_backend.dto;
+
+import com.wellness.wellness_backend.model.OrderStatus;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Either orderIds, or a filter (fromStatus + optional created range).
+public class BulkOrderStatusRequest {
+
+    @NotNull
+    private OrderStatus target;
+
+    @Size(max = 10000)
+    private List<Long> orderIds;
+
+    private OrderStatus fromStatus;
+    private LocalDateTime createdFrom;   // inclusive
+    private LocalDateTime createdTo;     // exclusive
+
+    public BulkOrderStatusRequest() {}
+
+    public OrderStatus getTarget() { return target; }
+    public void setTarget(OrderStatus target) { this.target = target; }
+
+    public List<Long> getOrderIds() { return orderIds; }
+    public void setOrderIds(List<Long> orderIds) { this.orderIds = orderIds; }
+
+    public OrderStatus getFromStatus() { return fromStatus; }
+    public void setFromStatus(OrderStatus fromStatus) { this.fromStatus = fromStatus; }
+
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDateTime createdFrom) { this.createdFrom = createdFrom; }
+
+    public LocalDateTime getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDateTime createdTo) { this.createdTo = createdTo; }
+}
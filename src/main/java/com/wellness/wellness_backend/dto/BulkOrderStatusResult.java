@@ -0,0 +1,41 @@
+package com.wellness.wellness_backend.dto;
+
+import com.wellness.wellness_backend.model.OrderStatus;
+
+import java.util.List;
+
+public class BulkOrderStatusResult {
+
+    private OrderStatus target;
+    private int updated;
+    private int skipped;
+    private int failed;
+    private boolean complete;
+    private String error;     // first chunk failure, null when none failed
+    private List<OrderStatusOutcome> outcomes;
+
+    // complete is false when a filter run stopped at a failed chunk, so
+    // matching orders past it were never looked at
+    public BulkOrderStatusResult(OrderStatus target,
+                                 List<OrderStatusOutcome> outcomes,
+                                 boolean complete,
+                                 String error) {
+        this.target = target;
+        this.outcomes = outcomes;
+        this.complete = complete;
+        this.error = error;
+        for (OrderStatusOutcome o : outcomes) {
+            if (o.getResult() == OrderStatusOutcome.Result.UPDATED) updated++;
+            else if (o.getResult() == OrderStatusOutcome.Result.FAILED) failed++;
+            else skipped++;
+        }
+    }
+
+    public OrderStatus getTarget() { return target; }
+    public int getUpdated() { return updated; }
+    public int getSkipped() { return skipped; }
+    public int getFailed() { return failed; }
+    public boolean isComplete() { return complete; }
+    public String getError() { return error; }
+    public List<OrderStatusOutcome> getOutcomes() { return outcomes; }
+}
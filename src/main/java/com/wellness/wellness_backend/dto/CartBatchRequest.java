@@ -0,0 +1,25 @@
+package com.wellness.wellness_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CartBatchRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<CartOperation> operations;
+
+    public CartBatchRequest() {}
+
+    public List<CartOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<CartOperation> operations) {
+        this.operations = operations;
+    }
+}
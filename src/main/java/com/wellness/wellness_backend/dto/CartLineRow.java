@@ -0,0 +1,50 @@
+package com.wellness.wellness_backend.dto;
+
+import java.time.LocalDateTime;
+
+// One row of the cart read query: the cart columns plus one item and its product.
+// Item / product fields are null for an empty cart.
+public class CartLineRow {
+
+    private final Long cartId;
+    private final String userEmail;
+    private final LocalDateTime createdAt;
+    private final Long itemId;
+    private final Integer quantity;
+    private final Double priceAtAddTime;
+    private final Long productId;
+    private final String productName;
+    private final Double productPrice;
+
+    public CartLineRow(
+            Long cartId,
+            String userEmail,
+            LocalDateTime createdAt,
+            Long itemId,
+            Integer quantity,
+            Double priceAtAddTime,
+            Long productId,
+            String productName,
+            Double productPrice
+    ) {
+        this.cartId = cartId;
+        this.userEmail = userEmail;
+        this.createdAt = createdAt;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.priceAtAddTime = priceAtAddTime;
+        this.productId = productId;
+        this.productName = productName;
+        this.productPrice = productPrice;
+    }
+
+    public Long getCartId() { return cartId; }
+    public String getUserEmail() { return userEmail; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getItemId() { return itemId; }
+    public Integer getQuantity() { return quantity; }
+    public Double getPriceAtAddTime() { return priceAtAddTime; }
+    public Long getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public Double getProductPrice() { return productPrice; }
+}
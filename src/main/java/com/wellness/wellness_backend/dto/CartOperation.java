@@ -0,0 +1,49 @@
+package com.wellness.wellness_backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+// One edit in a PATCH /api/cart batch. Items are addressed by product id
+// so offline clients don't need server-side cart item ids.
+public class CartOperation {
+
+    public enum Type {
+        ADD,     // increment quantity (creates the line if missing)
+        UPDATE,  // set quantity
+        REMOVE   // delete the line
+    }
+
+    @NotNull
+    private Type type;
+
+    @NotNull
+    private Long productId;
+
+    // required for ADD and UPDATE
+    private int quantity;
+
+    public CartOperation() {}
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
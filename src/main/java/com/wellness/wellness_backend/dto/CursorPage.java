@@ -0,0 +1,20 @@
+package com.wellness.wellness_backend.dto;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing.
+// nextCursor is null when there are no more rows.
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,31 @@
+package com.wellness.wellness_backend.dto;
+
+import com.wellness.wellness_backend.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+// Order columns for the history listing (hot or archived table).
+public class OrderHeaderRow {
+
+    private final Long id;
+    private final OrderStatus status;
+    private final double totalAmount;
+    private final LocalDateTime createdAt;
+
+    public OrderHeaderRow(
+            Long id,
+            OrderStatus status,
+            double totalAmount,
+            LocalDateTime createdAt
+    ) {
+        this.id = id;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public OrderStatus getStatus() { return status; }
+    public double getTotalAmount() { return totalAmount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,26 @@
+package com.wellness.wellness_backend.dto;
+
+public class OrderItemDTO {
+
+    private Long id;
+    private ProductDTO product;
+    private int quantity;
+    private double priceAtPurchase;
+
+    public OrderItemDTO(
+            Long id,
+            ProductDTO product,
+            int quantity,
+            double priceAtPurchase
+    ) {
+        this.id = id;
+        this.product = product;
+        this.quantity = quantity;
+        this.priceAtPurchase = priceAtPurchase;
+    }
+
+    public Long getId() { return id; }
+    public ProductDTO getProduct() { return product; }
+    public int getQuantity() { return quantity; }
+    public double getPriceAtPurchase() { return priceAtPurchase; }
+}
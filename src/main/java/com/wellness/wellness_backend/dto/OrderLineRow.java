@@ -0,0 +1,41 @@
+package com.wellness.wellness_backend.dto;
+
+// One order item with its product, as read by OrderItemRepository.findLinesByOrderIds.
+// productName is null once the product has been deleted; productPrice is
+// then the price paid.
+public class OrderLineRow {
+
+    private final Long orderId;
+    private final Long itemId;
+    private final int quantity;
+    private final double priceAtPurchase;
+    private final Long productId;
+    private final String productName;
+    private final Double productPrice;
+
+    public OrderLineRow(
+            Long orderId,
+            Long itemId,
+            int quantity,
+            double priceAtPurchase,
+            Long productId,
+            String productName,
+            Double productPrice
+    ) {
+        this.orderId = orderId;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.priceAtPurchase = priceAtPurchase;
+        this.productId = productId;
+        this.productName = productName;
+        this.productPrice = productPrice;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public Long getItemId() { return itemId; }
+    public int getQuantity() { return quantity; }
+    public double getPriceAtPurchase() { return priceAtPurchase; }
+    public Long getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public Double getProductPrice() { return productPrice; }
+}
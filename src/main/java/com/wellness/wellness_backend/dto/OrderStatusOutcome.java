@@ -0,0 +1,28 @@
+package com.wellness.wellness_backend.dto;
+
+import com.wellness.wellness_backend.model.OrderStatus;
+
+public class OrderStatusOutcome {
+
+    public enum Result {
+        UPDATED,
+        UNCHANGED,            // already in the target status
+        INVALID_TRANSITION,
+        NOT_FOUND,
+        FAILED                // its chunk rolled back; nothing was changed
+    }
+
+    private Long orderId;
+    private Result result;
+    private OrderStatus previousStatus;   // null when NOT_FOUND or FAILED
+
+    public OrderStatusOutcome(Long orderId, Result result, OrderStatus previousStatus) {
+        this.orderId = orderId;
+        this.result = result;
+        this.previousStatus = previousStatus;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public Result getResult() { return result; }
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+}
@@ -0,0 +1,36 @@
+package com.wellness.wellness_backend.dto;
+
+import com.wellness.wellness_backend.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Order history entry: the order columns plus its lines, no entity graph.
+public class OrderSummaryDTO {
+
+    private Long id;
+    private OrderStatus status;
+    private double totalAmount;
+    private LocalDateTime createdAt;
+    private List<OrderItemDTO> items;
+
+    public OrderSummaryDTO(
+            Long id,
+            OrderStatus status,
+            double totalAmount,
+            LocalDateTime createdAt,
+            List<OrderItemDTO> items
+    ) {
+        this.id = id;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.items = items;
+    }
+
+    public Long getId() { return id; }
+    public OrderStatus getStatus() { return status; }
+    public double getTotalAmount() { return totalAmount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public List<OrderItemDTO> getItems() { return items; }
+}
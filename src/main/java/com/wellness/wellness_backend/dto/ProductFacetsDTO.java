@@ -0,0 +1,39 @@
+package com.wellness.wellness_backend.dto;
+
+import com.wellness.wellness_backend.model.Product;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProductFacetsDTO {
+
+    private int total;
+    private Map<String, Integer> categories;
+    private Map<String, Integer> priceBands;
+    private Map<String, Integer> sellers;
+    private int inStock;
+    private List<Product> items;
+
+    public ProductFacetsDTO(
+            int total,
+            Map<String, Integer> categories,
+            Map<String, Integer> priceBands,
+            Map<String, Integer> sellers,
+            int inStock,
+            List<Product> items
+    ) {
+        this.total = total;
+        this.categories = categories;
+        this.priceBands = priceBands;
+        this.sellers = sellers;
+        this.inStock = inStock;
+        this.items = items;
+    }
+
+    public int getTotal() { return total; }
+    public Map<String, Integer> getCategories() { return categories; }
+    public Map<String, Integer> getPriceBands() { return priceBands; }
+    public Map<String, Integer> getSellers() { return sellers; }
+    public int getInStock() { return inStock; }
+    public List<Product> getItems() { return items; }
+}
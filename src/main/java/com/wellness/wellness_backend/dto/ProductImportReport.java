@@ -0,0 +1,49 @@
+package com.wellness.wellness_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Result of POST /api/products/import. Only the first MAX_ERRORS row
+// errors are listed; failed always has the full count.
+public class ProductImportReport {
+
+    public static final int MAX_ERRORS = 1000;
+
+    public static class RowError {
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+
+    private long imported;
+    private long failed;
+    private long millis;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public long getMillis() { return millis; }
+    public List<RowError> getErrors() { return errors; }
+}
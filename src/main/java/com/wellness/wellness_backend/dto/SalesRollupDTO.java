@@ -0,0 +1,33 @@
+package com.wellness.wellness_backend.dto;
+
+import java.time.LocalDateTime;
+
+// One product in one bucket
+public class SalesRollupDTO {
+
+    private LocalDateTime bucketStart;
+    private Long productId;
+    private String sellerEmail;
+    private long units;
+    private double revenue;
+
+    public SalesRollupDTO(
+            LocalDateTime bucketStart,
+            Long productId,
+            String sellerEmail,
+            long units,
+            double revenue
+    ) {
+        this.bucketStart = bucketStart;
+        this.productId = productId;
+        this.sellerEmail = sellerEmail;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public Long getProductId() { return productId; }
+    public String getSellerEmail() { return sellerEmail; }
+    public long getUnits() { return units; }
+    public double getRevenue() { return revenue; }
+}
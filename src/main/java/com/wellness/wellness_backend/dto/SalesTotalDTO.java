@@ -0,0 +1,29 @@
+package com.wellness.wellness_backend.dto;
+
+import java.time.LocalDateTime;
+
+// All of one seller's products in one bucket
+public class SalesTotalDTO {
+
+    private LocalDateTime bucketStart;
+    private String sellerEmail;
+    private long units;
+    private double revenue;
+
+    public SalesTotalDTO(
+            LocalDateTime bucketStart,
+            String sellerEmail,
+            Long units,
+            Double revenue
+    ) {
+        this.bucketStart = bucketStart;
+        this.sellerEmail = sellerEmail;
+        this.units = units == null ? 0 : units;
+        this.revenue = revenue == null ? 0 : revenue;
+    }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public String getSellerEmail() { return sellerEmail; }
+    public long getUnits() { return units; }
+    public double getRevenue() { return revenue; }
+}
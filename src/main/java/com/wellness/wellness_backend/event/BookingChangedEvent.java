@@ -0,0 +1,23 @@
+package com.wellness.wellness_backend.event;
+
+import com.wellness.wellness_backend.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Published by BookingService after every booking create / status change.
+public class BookingChangedEvent {
+
+    private final Long bookingId;
+    private final LocalDateTime slot;
+    private final BookingStatus status;
+
+    public BookingChangedEvent(Long bookingId, LocalDateTime slot, BookingStatus status) {
+        this.bookingId = bookingId;
+        this.slot = slot;
+        this.status = status;
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public LocalDateTime getSlot() { return slot; }
+    public BookingStatus getStatus() { return status; }
+}
@@ -0,0 +1,28 @@
+package com.wellness.wellness_backend.event;
+
+import com.wellness.wellness_backend.model.Practitioner;
+
+// Published by PractitionerService after a profile is created, updated,
+// verified or deleted. practitioner is null for deletions.
+public class PractitionerChangedEvent {
+
+    private final Long practitionerId;
+    private final Practitioner practitioner;
+
+    private PractitionerChangedEvent(Long practitionerId, Practitioner practitioner) {
+        this.practitionerId = practitionerId;
+        this.practitioner = practitioner;
+    }
+
+    public static PractitionerChangedEvent saved(Practitioner practitioner) {
+        return new PractitionerChangedEvent(practitioner.getId(), practitioner);
+    }
+
+    public static PractitionerChangedEvent deleted(Long practitionerId) {
+        return new PractitionerChangedEvent(practitionerId, null);
+    }
+
+    public Long getPractitionerId() { return practitionerId; }
+    public Practitioner getPractitioner() { return practitioner; }
+    public boolean isDeleted() { return practitioner == null; }
+}
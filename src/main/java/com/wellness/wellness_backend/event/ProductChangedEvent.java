@@ -0,0 +1,28 @@
+package com.wellness.wellness_backend.event;
+
+import com.wellness.wellness_backend.model.Product;
+
+// Published by ProductService after a product is created, updated or deleted.
+// product is null for deletions.
+public class ProductChangedEvent {
+
+    private final Long productId;
+    private final Product product;
+
+    private ProductChangedEvent(Long productId, Product product) {
+        this.productId = productId;
+        this.product = product;
+    }
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public Long getProductId() { return productId; }
+    public Product getProduct() { return product; }
+    public boolean isDeleted() { return product == null; }
+}
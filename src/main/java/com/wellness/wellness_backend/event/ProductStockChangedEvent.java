@@ -0,0 +1,17 @@
+package com.wellness.wellness_backend.event;
+
+// Published when stock moves outside ProductService (e.g. checkout reservations).
+// delta is negative when units are sold.
+public class ProductStockChangedEvent {
+
+    private final Long productId;
+    private final int delta;
+
+    public ProductStockChangedEvent(Long productId, int delta) {
+        this.productId = productId;
+        this.delta = delta;
+    }
+
+    public Long getProductId() { return productId; }
+    public int getDelta() { return delta; }
+}
@@ -0,0 +1,18 @@
+package com.wellness.wellness_backend.event;
+
+import com.wellness.wellness_backend.model.Product;
+
+import java.util.List;
+
+// Published by ProductImportService once per committed chunk, in place of
+// one ProductChangedEvent per row, so listeners take their lock once.
+public class ProductsImportedEvent {
+
+    private final List<Product> products;
+
+    public ProductsImportedEvent(List<Product> products) {
+        this.products = products;
+    }
+
+    public List<Product> getProducts() { return products; }
+}
@@ -0,0 +1,30 @@
+package com.wellness.wellness_backend.event;
+
+import java.time.LocalDateTime;
+
+// Published by PractitionerAvailabilityService when a slot is added,
+// reserved or released. free is the slot's state after the change.
+public class SlotChangedEvent {
+
+    private final Long practitionerId;
+    private final LocalDateTime slot;
+    private final boolean free;
+
+    private SlotChangedEvent(Long practitionerId, LocalDateTime slot, boolean free) {
+        this.practitionerId = practitionerId;
+        this.slot = slot;
+        this.free = free;
+    }
+
+    public static SlotChangedEvent freed(Long practitionerId, LocalDateTime slot) {
+        return new SlotChangedEvent(practitionerId, slot, true);
+    }
+
+    public static SlotChangedEvent taken(Long practitionerId, LocalDateTime slot) {
+        return new SlotChangedEvent(practitionerId, slot, false);
+    }
+
+    public Long getPractitionerId() { return practitionerId; }
+    public LocalDateTime getSlot() { return slot; }
+    public boolean isFree() { return free; }
+}
@@ -0,0 +1,14 @@
+package com.wellness.wellness_backend.exception;
+
+// Checkout could not reserve the requested quantity; the whole order is rolled back.
+public class InsufficientStockException extends RuntimeException {
+
+    private final Long productId;
+
+    public InsufficientStockException(Long productId, String productName) {
+        super("Insufficient stock for product " + productName);
+        this.productId = productId;
+    }
+
+    public Long getProductId() { return productId; }
+}
@@ -5,6 +5,7 @@ package com.wellness.wellness_backend.mapper;
 import com.wellness.wellness_backend.dto.*;
 import com.wellness.wellness_backend.model.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,4 +33,33 @@ public class CartMapper {
                 items
         );
     }
+
+    // rows from CartRepository.findCartLines (same cart, one row per item)
+    public static CartDTO toDTO(List<CartLineRow> rows) {
+
+        CartLineRow first = rows.get(0);
+        List<CartItemDTO> items = new ArrayList<>(rows.size());
+
+        for (CartLineRow row : rows) {
+            if (row.getItemId() == null) continue; // empty cart
+
+            items.add(new CartItemDTO(
+                    row.getItemId(),
+                    new ProductDTO(
+                            row.getProductId(),
+                            row.getProductName(),
+                            row.getProductPrice()
+                    ),
+                    row.getQuantity(),
+                    row.getPriceAtAddTime()
+            ));
+        }
+
+        return new CartDTO(
+                first.getCartId(),
+                first.getUserEmail(),
+                first.getCreatedAt(),
+                items
+        );
+    }
 }
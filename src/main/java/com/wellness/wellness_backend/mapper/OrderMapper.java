@@ -0,0 +1,45 @@
+package com.wellness.wellness_backend.mapper;
+
+//MAPPER (ENTITY → DTO)
+
+import com.wellness.wellness_backend.dto.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrderMapper {
+
+    // orders of one history page + the lines for all of them
+    public static List<OrderSummaryDTO> toSummaries(List<OrderHeaderRow> orders, List<OrderLineRow> lines) {
+
+        Map<Long, List<OrderItemDTO>> byOrder = new HashMap<>();
+
+        for (OrderLineRow row : lines) {
+            byOrder.computeIfAbsent(row.getOrderId(), id -> new ArrayList<>())
+                    .add(new OrderItemDTO(
+                            row.getItemId(),
+                            new ProductDTO(
+                                    row.getProductId(),
+                                    row.getProductName(),
+                                    row.getProductPrice()
+                            ),
+                            row.getQuantity(),
+                            row.getPriceAtPurchase()
+                    ));
+        }
+
+        List<OrderSummaryDTO> result = new ArrayList<>(orders.size());
+        for (OrderHeaderRow order : orders) {
+            result.add(new OrderSummaryDTO(
+                    order.getId(),
+                    order.getStatus(),
+                    order.getTotalAmount(),
+                    order.getCreatedAt(),
+                    byOrder.getOrDefault(order.getId(), List.of())
+            ));
+        }
+        return result;
+    }
+}
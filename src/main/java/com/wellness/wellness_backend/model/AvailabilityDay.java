@@ -0,0 +1,37 @@
+package com.wellness.wellness_backend.model;
+
+import jakarta.persistence.*;
+
+// One practitioner's day of 15-minute slots as bitmasks (day-mask storage).
+// Slot n of the day is bit n of the _lo word for n < 48, bit n - 48 of the
+// _hi word otherwise; 48 bits keep every value a positive BIGINT.
+// Written only by AvailabilityDayJdbcRepository.
+@Entity
+@Table(name = "practitioner_availability_days")
+public class AvailabilityDay {
+
+    @EmbeddedId
+    private AvailabilityDayId id;
+
+    // slots the practitioner offers
+    @Column(name = "offered_lo", nullable = false)
+    private long offeredLo;
+
+    @Column(name = "offered_hi", nullable = false)
+    private long offeredHi;
+
+    // offered slots that are booked
+    @Column(name = "booked_lo", nullable = false)
+    private long bookedLo;
+
+    @Column(name = "booked_hi", nullable = false)
+    private long bookedHi;
+
+    public AvailabilityDay() {}
+
+    public AvailabilityDayId getId() { return id; }
+    public long getOfferedLo() { return offeredLo; }
+    public long getOfferedHi() { return offeredHi; }
+    public long getBookedLo() { return bookedLo; }
+    public long getBookedHi() { return bookedHi; }
+}
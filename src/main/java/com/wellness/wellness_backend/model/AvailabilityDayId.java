@@ -0,0 +1,34 @@
+package com.wellness.wellness_backend.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class AvailabilityDayId implements Serializable {
+
+    @Column(name = "practitioner_id", nullable = false)
+    private Long practitionerId;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    public AvailabilityDayId() {}
+
+    public Long getPractitionerId() { return practitionerId; }
+    public LocalDate getDay() { return day; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AvailabilityDayId other)) return false;
+        return Objects.equals(practitionerId, other.practitionerId)
+                && Objects.equals(day, other.day);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(practitionerId, day);
+    }
+}
@@ -0,0 +1,119 @@
+package com.wellness.wellness_backend.model;
+
+import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+// Weekly schedule a practitioner publishes once; AvailabilityTemplateService
+// turns it into concrete slots up to a rolling horizon.
+@Entity
+@Table(
+    name = "availability_templates",
+    indexes = {
+        @Index(name = "idx_availability_templates_practitioner", columnList = "practitioner_id")
+    }
+)
+public class AvailabilityTemplate {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "practitioner_id", nullable = false)
+    private Long practitionerId;
+
+    // bit n set = DayOfWeek.of(n + 1) is included
+    @Column(name = "days_of_week", nullable = false)
+    private int daysOfWeek;
+
+    // slots start at startTime and every intervalMinutes after it,
+    // as long as they end by endTime
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "interval_minutes", nullable = false)
+    private int intervalMinutes;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    // null = open-ended
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+
+    // days skipped entirely (holidays)
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(
+        name = "availability_template_exceptions",
+        joinColumns = @JoinColumn(name = "template_id")
+    )
+    @Column(name = "day", nullable = false)
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    // last day already expanded into slots (null = none yet)
+    @Column(name = "expanded_through")
+    private LocalDate expandedThrough;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public AvailabilityTemplate() {}
+
+    public Long getId() { return id; }
+
+    public Long getPractitionerId() { return practitionerId; }
+    public void setPractitionerId(Long practitionerId) { this.practitionerId = practitionerId; }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (includes(d)) days.add(d);
+        }
+        return days;
+    }
+    public void setDaysOfWeek(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek d : days) {
+            mask |= 1 << (d.getValue() - 1);
+        }
+        this.daysOfWeek = mask;
+    }
+
+    public boolean includes(DayOfWeek day) {
+        return (daysOfWeek & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public int getIntervalMinutes() { return intervalMinutes; }
+    public void setIntervalMinutes(int intervalMinutes) { this.intervalMinutes = intervalMinutes; }
+
+    public LocalDate getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+    public LocalDate getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDate validUntil) { this.validUntil = validUntil; }
+
+    public Set<LocalDate> getExceptions() { return exceptions; }
+    public void setExceptions(Set<LocalDate> exceptions) { this.exceptions = exceptions; }
+
+    public LocalDate getExpandedThrough() { return expandedThrough; }
+    public void setExpandedThrough(LocalDate expandedThrough) { this.expandedThrough = expandedThrough; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -1,14 +1,20 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(
+    name = "bookings",
+    indexes = {
+        @Index(name = "idx_bookings_reminder", columnList = "status, reminder_sent_at, slot")
+    }
+)
 public class Booking {
 
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     // store references by id (optional)
@@ -16,9 +22,14 @@ public class Booking {
     private Long practitionerId;
     
     private LocalDateTime slot;       // appointment time
-    private String status;            // CREATED, CONFIRMED, CANCELLED
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;     // see BookingStatus for the allowed moves
     private String notes;
 
+    // set once, by the compare-and-set in BookingRepository.markReminderSent
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+
     public Booking() {}
 
     // -------------------- GETTERS & SETTERS --------------------
@@ -35,9 +46,11 @@ public class Booking {
     public LocalDateTime getSlot() { return slot; }
     public void setSlot(LocalDateTime slot) { this.slot = slot; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public BookingStatus getStatus() { return status; }
+    public void setStatus(BookingStatus status) { this.status = status; }
 
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+
+    public LocalDateTime getReminderSentAt() { return reminderSentAt; }
 }
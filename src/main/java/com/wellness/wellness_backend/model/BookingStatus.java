@@ -0,0 +1,24 @@
+package com.wellness.wellness_backend.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum BookingStatus {
+    CREATED,
+    CONFIRMED,
+    COMPLETED,
+    CANCELLED;
+
+    // allowed moves; COMPLETED and CANCELLED are final
+    public Set<BookingStatus> next() {
+        return switch (this) {
+            case CREATED -> EnumSet.of(CONFIRMED, CANCELLED);
+            case CONFIRMED -> EnumSet.of(COMPLETED, CANCELLED);
+            case COMPLETED, CANCELLED -> EnumSet.noneOf(BookingStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(BookingStatus target) {
+        return next().contains(target);
+    }
+}
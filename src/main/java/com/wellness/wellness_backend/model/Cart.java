@@ -1,6 +1,7 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,7 +11,7 @@ import java.util.List;
 public class Cart {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     // identify cart owner via email (consistent with product module)
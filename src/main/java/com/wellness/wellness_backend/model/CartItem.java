@@ -1,6 +1,7 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 
 @Entity
 @Table(
@@ -12,14 +13,15 @@ import jakarta.persistence.*;
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "cart_id")
     private Cart cart;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    // LAZY: readers that need products fetch-join them (see CartRepository)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "product_id")
     private Product product;
 
@@ -0,0 +1,72 @@
+package com.wellness.wellness_backend.model;
+
+import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
+import java.time.LocalDateTime;
+
+// Remembers which order a client's Idempotency-Key produced,
+// so a retried checkout returns that order instead of a new one.
+@Entity
+@Table(
+    name = "idempotency_records",
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_email", "idempotency_key"})
+    },
+    indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+    }
+)
+public class IdempotencyRecord {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String userEmail, String idempotencyKey, Long orderId, LocalDateTime expiresAt) {
+        this.userEmail = userEmail;
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
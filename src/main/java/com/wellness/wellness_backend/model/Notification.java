@@ -1,6 +1,7 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 import java.time.LocalDateTime;
 
 @Entity
@@ -8,7 +9,7 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(optional = false)
@@ -1,16 +1,27 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(
+    name = "orders",
+    indexes = {
+        // order history: where user_email = ? order by created_at desc, id desc
+        @Index(name = "idx_orders_user_created", columnList = "user_email, created_at, id"),
+        // bulk status filter and the archive job
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
+        // sales rollup rebuild: where created_at >= ? and created_at < ?
+        @Index(name = "idx_orders_created", columnList = "created_at")
+    }
+)
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
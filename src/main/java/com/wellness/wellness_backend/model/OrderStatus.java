@@ -1,10 +1,37 @@
 package com.wellness.wellness_backend.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PLACED,
     CONFIRMED,
     SHIPPED,
     DELIVERED,
-    CANCELLED
-}
+    CANCELLED;
+
+    // allowed forward moves; DELIVERED and CANCELLED are final
+    public Set<OrderStatus> next() {
+        return switch (this) {
+            case PLACED -> EnumSet.of(CONFIRMED, CANCELLED);
+            case CONFIRMED -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
 
+    public boolean canTransitionTo(OrderStatus target) {
+        return next().contains(target);
+    }
+
+    // every status that may move to target
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus s : values()) {
+            if (s.canTransitionTo(target)) {
+                sources.add(s);
+            }
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,56 @@
+package com.wellness.wellness_backend.model;
+
+import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
+import java.time.LocalDateTime;
+
+// A WebSocket push recorded in the same transaction as the change it
+// describes. Ids are time-ordered, so the relay drains in id order.
+@Entity
+@Table(
+    name = "outbox_events",
+    indexes = {
+        @Index(name = "idx_outbox_created_at", columnList = "created_at")
+    }
+)
+public class OutboxEvent {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxEventType type;
+
+    @Column(name = "recipient_user_id", nullable = false)
+    private Long recipientUserId;
+
+    // JSON object
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    private int attempts;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(OutboxEventType type, Long recipientUserId, String payload) {
+        this.type = type;
+        this.recipientUserId = recipientUserId;
+        this.payload = payload;
+    }
+
+    public Long getId() { return id; }
+    public OutboxEventType getType() { return type; }
+    public Long getRecipientUserId() { return recipientUserId; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+}
@@ -0,0 +1,8 @@
+package com.wellness.wellness_backend.model;
+
+// Which user queue an outbox event is relayed to (see OutboxRelay)
+public enum OutboxEventType {
+    ORDER,          // /user/{id}/orders
+    BOOKING,        // /user/{id}/bookings
+    NOTIFICATION    // /user/{id}/notifications
+}
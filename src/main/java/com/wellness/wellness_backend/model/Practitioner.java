@@ -1,6 +1,7 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 
 @Entity
 @Table(name = "practitioners", uniqueConstraints = {
@@ -9,7 +10,7 @@ import jakarta.persistence.*;
 public class Practitioner {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "user_id", nullable = false)
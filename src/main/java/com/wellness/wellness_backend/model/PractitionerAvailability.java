@@ -1,14 +1,20 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "practitioner_availability")
+@Table(
+    name = "practitioner_availability",
+    uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"practitioner_id", "slot"})
+    }
+)
 public class PractitionerAvailability {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     private Long practitionerId;
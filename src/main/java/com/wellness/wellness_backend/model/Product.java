@@ -1,13 +1,21 @@
 package com.wellness.wellness_backend.model;
 
 import jakarta.persistence.*;
+import com.wellness.wellness_backend.model.id.SnowflakeId;
 
 @Entity
-@Table(name = "products")
+@Table(
+    name = "products",
+    indexes = {
+        // keyset pagination: (sort column, id)
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_name_id", columnList = "name, id")
+    }
+)
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
@@ -27,8 +35,28 @@ public class Product {
     @Column(nullable = false, updatable = false)
     private String ownerEmail;
 
+    // set while a flash sale holds the stock (see FlashSaleService); only
+    // ProductRepository.setFlashSale writes it, never an entity save
+    @Column(updatable = false, columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private boolean flashSale;
+
     public Product() {}
 
+    // detached copy with the same id; in-memory indexes and caches hold
+    // and hand out these instead of entities from a persistence context
+    public Product copy() {
+        Product p = new Product();
+        p.id = id;
+        p.name = name;
+        p.description = description;
+        p.price = price;
+        p.stock = stock;
+        p.category = category;
+        p.ownerEmail = ownerEmail;
+        p.flashSale = flashSale;
+        return p;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -49,6 +77,8 @@ public class Product {
 
     public String getOwnerEmail() { return ownerEmail; }
 
+    public boolean isFlashSale() { return flashSale; }
+
     public void setOwnerEmail(String ownerEmail) {
         this.ownerEmail = ownerEmail == null ? null : ownerEmail.toLowerCase().trim();
     }
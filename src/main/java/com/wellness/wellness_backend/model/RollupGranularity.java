@@ -0,0 +1,7 @@
+package com.wellness.wellness_backend.model;
+
+// Bucket size of a sales_rollups row
+public enum RollupGranularity {
+    HOUR,
+    DAY
+}
@@ -0,0 +1,35 @@
+package com.wellness.wellness_backend.model;
+
+import jakarta.persistence.*;
+
+// Units and revenue per product per hour/day bucket (bucket = order time).
+// Written only by SalesRollupJdbcRepository; read by the sales dashboards.
+@Entity
+@Table(
+    name = "sales_rollups",
+    indexes = {
+        @Index(name = "idx_sales_rollups_seller", columnList = "seller_email, granularity, bucket_start")
+    }
+)
+public class SalesRollup {
+
+    @EmbeddedId
+    private SalesRollupId id;
+
+    // Product.ownerEmail (not updatable, so safe to denormalize)
+    @Column(name = "seller_email", nullable = false)
+    private String sellerEmail;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    public SalesRollup() {}
+
+    public SalesRollupId getId() { return id; }
+    public String getSellerEmail() { return sellerEmail; }
+    public long getUnits() { return units; }
+    public double getRevenue() { return revenue; }
+}
@@ -0,0 +1,40 @@
+package com.wellness.wellness_backend.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Embeddable
+public class SalesRollupId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    public SalesRollupId() {}
+
+    public RollupGranularity getGranularity() { return granularity; }
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public Long getProductId() { return productId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SalesRollupId other)) return false;
+        return granularity == other.granularity
+                && Objects.equals(bucketStart, other.bucketStart)
+                && Objects.equals(productId, other.productId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(granularity, bucketStart, productId);
+    }
+}
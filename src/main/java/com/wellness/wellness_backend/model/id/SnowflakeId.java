@@ -0,0 +1,20 @@
+package com.wellness.wellness_backend.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity id as assigned by {@link SnowflakeIdGenerator}.
+ *
+ * Unlike IDENTITY the id is known before the INSERT runs, so Hibernate
+ * can batch inserts (hibernate.jdbc.batch_size).
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,85 @@
+package com.wellness.wellness_backend.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.time.Instant;
+import java.util.EnumSet;
+
+/**
+ * Time-ordered 64-bit ids that fit in 53 bits, so they survive a round
+ * trip through JavaScript numbers in the frontend.
+ *
+ *   41 bits  milliseconds since 2025-01-01T00:00:00Z (~69 years)
+ *    4 bits  node id (app.node-id / APP_NODE_ID, 0-15)
+ *    8 bits  sequence within the millisecond (256 ids/ms per node)
+ *
+ * Ids grow with time, so "order by id" keeps meaning insertion order.
+ * Native inserts that bypass Hibernate call {@link #nextId()} directly.
+ */
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator {
+
+    private static final long EPOCH_MS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 4;
+    private static final int SEQUENCE_BITS = 8;
+
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long NODE = resolveNode();
+
+    private static long lastMs = -1;
+    private static long sequence = 0;
+
+    public static synchronized long nextId() {
+
+        long now = System.currentTimeMillis() - EPOCH_MS;
+
+        // clock stepped back: keep issuing from the last millisecond seen
+        // rather than blocking, so ids stay unique and increasing
+        if (now < lastMs) {
+            now = lastMs;
+        }
+
+        if (now == lastMs) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // sequence exhausted for this millisecond: borrow the next one
+                now = lastMs + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastMs = now;
+        return (now << (NODE_BITS + SEQUENCE_BITS)) | (NODE << SEQUENCE_BITS) | sequence;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session,
+                           Object owner,
+                           Object currentValue,
+                           EventType eventType) {
+        return nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private static long resolveNode() {
+        String value = System.getProperty("app.node-id", System.getenv("APP_NODE_ID"));
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        long node = Long.parseLong(value.trim());
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalStateException("app.node-id must be between 0 and " + MAX_NODE);
+        }
+        return node;
+    }
+}
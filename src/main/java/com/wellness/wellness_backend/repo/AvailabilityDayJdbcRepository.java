@@ -0,0 +1,164 @@
+package com.wellness.wellness_backend.repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Bitwise reads and writes on practitioner_availability_days
+// (see AvailabilityDay for the mask layout). Every write is a single
+// statement, so reserving or releasing a slot never reads the row first.
+@Repository
+public class AvailabilityDayJdbcRepository {
+
+    public record DayMask(Long practitionerId, LocalDate day,
+                          long offeredLo, long offeredHi,
+                          long bookedLo, long bookedHi) {}
+
+    // ORs the given bits into the day, creating it if needed
+    // (new: MySQL row alias for the inserted row; VALUES() is deprecated)
+    private static final String MERGE_SQL = """
+            INSERT INTO practitioner_availability_days
+                (practitioner_id, day, offered_lo, offered_hi, booked_lo, booked_hi)
+            VALUES (?, ?, ?, ?, ?, ?) AS new
+            ON DUPLICATE KEY UPDATE
+                offered_lo = practitioner_availability_days.offered_lo | new.offered_lo,
+                offered_hi = practitioner_availability_days.offered_hi | new.offered_hi,
+                booked_lo = practitioner_availability_days.booked_lo | new.booked_lo,
+                booked_hi = practitioner_availability_days.booked_hi | new.booked_hi
+            """;
+
+    // %s: lo / hi. Sets the booked bit only if it is offered and free.
+    private static final String RESERVE_SQL = """
+            UPDATE practitioner_availability_days
+            SET booked_%1$s = booked_%1$s | ?
+            WHERE practitioner_id = ? AND day = ?
+              AND (offered_%1$s & ?) <> 0
+              AND (booked_%1$s & ?) = 0
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE practitioner_availability_days
+            SET booked_%1$s = booked_%1$s & ~?
+            WHERE practitioner_id = ? AND day = ?
+              AND (booked_%1$s & ?) <> 0
+            """;
+
+    // row-per-slot table folded into day masks in one pass; off-grid
+    // slots (not on a 15-minute boundary) are left out. An INSERT ...
+    // SELECT can't take a row alias, so the SELECT is the derived table new.
+    private static final String MIGRATE_SQL = """
+            INSERT INTO practitioner_availability_days
+                (practitioner_id, day, offered_lo, offered_hi, booked_lo, booked_hi)
+            SELECT * FROM (
+                SELECT practitioner_id, DATE(slot) AS day,
+                       BIT_OR(IF(idx < 48, 1 << idx, 0)) AS offered_lo,
+                       BIT_OR(IF(idx >= 48, 1 << (idx - 48), 0)) AS offered_hi,
+                       BIT_OR(IF(booked AND idx < 48, 1 << idx, 0)) AS booked_lo,
+                       BIT_OR(IF(booked AND idx >= 48, 1 << (idx - 48), 0)) AS booked_hi
+                FROM (
+                    SELECT practitioner_id, slot, booked,
+                           (HOUR(slot) * 60 + MINUTE(slot)) DIV 15 AS idx
+                    FROM practitioner_availability
+                    WHERE MINUTE(slot) % 15 = 0 AND SECOND(slot) = 0
+                ) s
+                GROUP BY practitioner_id, DATE(slot)
+            ) AS new
+            ON DUPLICATE KEY UPDATE
+                offered_lo = practitioner_availability_days.offered_lo | new.offered_lo,
+                offered_hi = practitioner_availability_days.offered_hi | new.offered_hi,
+                booked_lo = practitioner_availability_days.booked_lo | new.booked_lo,
+                booked_hi = practitioner_availability_days.booked_hi | new.booked_hi
+            """;
+
+    private static final String SELECT_COLUMNS =
+            "SELECT practitioner_id, day, offered_lo, offered_hi, booked_lo, booked_hi"
+                    + " FROM practitioner_availability_days ";
+
+    private static final RowMapper<DayMask> DAY_MASK = (rs, i) -> new DayMask(
+            rs.getLong(1),
+            rs.getDate(2).toLocalDate(),
+            rs.getLong(3),
+            rs.getLong(4),
+            rs.getLong(5),
+            rs.getLong(6)
+    );
+
+    private final JdbcTemplate jdbc;
+
+    public AvailabilityDayJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // one JDBC batch, one statement per day
+    public int[] mergeAll(Collection<DayMask> days) {
+        List<Object[]> args = new ArrayList<>(days.size());
+        for (DayMask d : days) {
+            args.add(new Object[]{
+                    d.practitionerId(), Date.valueOf(d.day()),
+                    d.offeredLo(), d.offeredHi(), d.bookedLo(), d.bookedHi()
+            });
+        }
+        return jdbc.batchUpdate(MERGE_SQL, args);
+    }
+
+    public boolean reserve(Long practitionerId, LocalDate day, boolean hiWord, long bit) {
+        return jdbc.update(RESERVE_SQL.formatted(word(hiWord)),
+                bit, practitionerId, Date.valueOf(day), bit, bit) == 1;
+    }
+
+    public boolean release(Long practitionerId, LocalDate day, boolean hiWord, long bit) {
+        return jdbc.update(RELEASE_SQL.formatted(word(hiWord)),
+                bit, practitionerId, Date.valueOf(day), bit) == 1;
+    }
+
+    public DayMask find(Long practitionerId, LocalDate day) {
+        List<DayMask> rows = jdbc.query(
+                SELECT_COLUMNS + "WHERE practitioner_id = ? AND day = ?",
+                DAY_MASK, practitionerId, Date.valueOf(day));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public List<DayMask> findRange(Long practitionerId, LocalDate from, LocalDate to) {
+        return jdbc.query(
+                SELECT_COLUMNS + "WHERE practitioner_id = ? AND day BETWEEN ? AND ?",
+                DAY_MASK, practitionerId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<DayMask> findByPractitioner(Long practitionerId) {
+        return jdbc.query(
+                SELECT_COLUMNS + "WHERE practitioner_id = ? ORDER BY day",
+                DAY_MASK, practitionerId);
+    }
+
+    // streams every day from the given one on (index warm-up)
+    public void forEachFrom(LocalDate from, Consumer<DayMask> action) {
+        jdbc.query(
+                SELECT_COLUMNS + "WHERE day >= ?",
+                (RowCallbackHandler) rs -> action.accept(DAY_MASK.mapRow(rs, 0)),
+                Date.valueOf(from));
+    }
+
+    public int migrateFromRows() {
+        return jdbc.update(MIGRATE_SQL);
+    }
+
+    public long countOffGridRows() {
+        Long n = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM practitioner_availability
+                WHERE MINUTE(slot) % 15 <> 0 OR SECOND(slot) <> 0
+                """, Long.class);
+        return n == null ? 0 : n;
+    }
+
+    private static String word(boolean hiWord) {
+        return hiWord ? "hi" : "lo";
+    }
+}
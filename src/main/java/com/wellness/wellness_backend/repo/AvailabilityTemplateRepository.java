@@ -0,0 +1,26 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.model.AvailabilityTemplate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AvailabilityTemplateRepository extends JpaRepository<AvailabilityTemplate, Long> {
+
+    List<AvailabilityTemplate> findByPractitionerIdOrderByCreatedAtAsc(Long practitionerId);
+
+    // still running and not yet expanded up to the horizon
+    @Query("""
+            select t.id from AvailabilityTemplate t
+            where (t.validUntil is null or t.validUntil >= :today)
+              and (t.expandedThrough is null
+                   or (t.expandedThrough < :horizon
+                       and (t.validUntil is null or t.expandedThrough < t.validUntil)))
+            """)
+    List<Long> findIdsDueForExpansion(@Param("today") LocalDate today,
+                                      @Param("horizon") LocalDate horizon);
+}
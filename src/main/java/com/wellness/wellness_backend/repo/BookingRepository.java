@@ -1,7 +1,13 @@
 package com.wellness.wellness_backend.repo;
 
+import com.wellness.wellness_backend.dto.BookingSlotRow;
 import com.wellness.wellness_backend.model.Booking;
+import com.wellness.wellness_backend.model.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,9 +29,53 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByPractitionerIdOrderBySlotAsc(Long practitionerId);
     
     List<Booking> findByStatusAndSlotBetween(
-            String status,
+            BookingStatus status,
             LocalDateTime start,
             LocalDateTime end
     );
 
+    // =========================
+    // STATUS TRANSITIONS
+    // compare-and-set: returns 0 when the booking is missing or no
+    // longer in the expected status. FORCE INDEX keeps the lookup on
+    // the primary key: on a small table MySQL may range-scan
+    // idx_bookings_reminder (status, ...) instead, and two transitions
+    // of one booking then deadlock on the index entries the UPDATE moves.
+    // =========================
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE bookings FORCE INDEX (PRIMARY) SET status = :to
+            WHERE id = :id AND status = :from
+            """, nativeQuery = true)
+    int transition(@Param("id") Long id,
+                   @Param("from") String from,
+                   @Param("to") String to);
+
+    // =========================
+    // REMINDERS
+    // =========================
+
+    // exactly-once: only the first caller gets 1
+    @Modifying
+    @Query("""
+            update Booking b set b.reminderSentAt = :now
+            where b.id = :id
+              and b.status = com.wellness.wellness_backend.model.BookingStatus.CONFIRMED
+              and b.reminderSentAt is null
+              and b.slot > :now
+            """)
+    int markReminderSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // confirmed, not yet reminded, slot in (from, to]; walks idx_bookings_reminder
+    @Query("""
+            select new com.wellness.wellness_backend.dto.BookingSlotRow(b.id, b.slot)
+            from Booking b
+            where b.status = com.wellness.wellness_backend.model.BookingStatus.CONFIRMED
+              and b.reminderSentAt is null
+              and b.slot > :from and b.slot <= :to
+            order by b.slot asc
+            """)
+    List<BookingSlotRow> findReminderCandidates(@Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                Pageable limit);
 }
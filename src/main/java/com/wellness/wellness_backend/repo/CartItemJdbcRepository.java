@@ -0,0 +1,90 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.model.id.SnowflakeIdGenerator;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Plain JDBC for cart writes that need statement batching.
+// Joins the caller's transaction like the JPA repositories do.
+@Repository
+public class CartItemJdbcRepository {
+
+    // Insert-or-update against the (cart_id, product_id) unique key; the
+    // three writes below differ only in the update. Inserts nothing when
+    // the user has no cart row yet or the product doesn't exist. id is
+    // unused on update. The SELECT is a derived table so the update can
+    // name the new row (MySQL's form of a row alias for INSERT ... SELECT;
+    // VALUES() is deprecated).
+    private static final String INSERT_LINE = """
+            INSERT INTO cart_items (id, cart_id, product_id, quantity, price_at_add_time)
+            SELECT * FROM (
+                SELECT ? AS id, c.id AS cart_id, p.id AS product_id, ? AS qty, p.price AS price
+                FROM carts c
+                JOIN products p ON p.id = ?
+                WHERE c.user_email = ?
+            ) AS new
+            """;
+
+    private static final String UPSERT_SQL =
+            INSERT_LINE + "ON DUPLICATE KEY UPDATE quantity = cart_items.quantity + new.qty";
+
+    private static final String SET_SQL =
+            INSERT_LINE + "ON DUPLICATE KEY UPDATE quantity = new.qty";
+
+    // idempotent: applying the same lines twice changes nothing
+    private static final String MAX_SQL =
+            INSERT_LINE + "ON DUPLICATE KEY UPDATE quantity = GREATEST(cart_items.quantity, new.qty)";
+
+    private static final String DELETE_SQL = """
+            DELETE ci FROM cart_items ci
+            JOIN carts c ON c.id = ci.cart_id
+            WHERE c.user_email = ? AND ci.product_id = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public CartItemJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // single line; returns 0 when nothing was inserted (see UPSERT_SQL)
+    public int upsert(String email, Long productId, int qty) {
+        return jdbc.update(UPSERT_SQL, SnowflakeIdGenerator.nextId(), qty, productId, email);
+    }
+
+    // productId -> quantity to add; one JDBC batch
+    public int[] upsertAll(String email, Map<Long, Integer> items) {
+        return jdbc.batchUpdate(UPSERT_SQL, lineArgs(email, items));
+    }
+
+    // productId -> absolute quantity; one JDBC batch
+    public int[] setAll(String email, Map<Long, Integer> items) {
+        return jdbc.batchUpdate(SET_SQL, lineArgs(email, items));
+    }
+
+    // productId -> quantity, keeping the larger of it and the cart's; one JDBC batch
+    public int[] maxAll(String email, Map<Long, Integer> items) {
+        return jdbc.batchUpdate(MAX_SQL, lineArgs(email, items));
+    }
+
+    public int[] deleteAll(String email, Collection<Long> productIds) {
+        List<Object[]> args = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            args.add(new Object[]{email, productId});
+        }
+        return jdbc.batchUpdate(DELETE_SQL, args);
+    }
+
+    private static List<Object[]> lineArgs(String email, Map<Long, Integer> items) {
+        List<Object[]> args = new ArrayList<>(items.size());
+        items.forEach((productId, qty) ->
+                args.add(new Object[]{SnowflakeIdGenerator.nextId(), qty, productId, email}));
+        return args;
+    }
+}
@@ -8,5 +8,4 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 	Optional<CartItem> findByCartIdAndProductId(Long cartId, Long productId);
-
 }
@@ -1,11 +1,52 @@
 package com.wellness.wellness_backend.repo;
 
+import com.wellness.wellness_backend.dto.CartLineRow;
 import com.wellness.wellness_backend.model.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
 
     Optional<Cart> findByUserEmail(String userEmail);
+
+    // cart + items + products in one statement
+    @Query("""
+            select c from Cart c
+            left join fetch c.items i
+            left join fetch i.product
+            where c.userEmail = :email
+            """)
+    Optional<Cart> findWithItemsByUserEmail(@Param("email") String email);
+
+    // product ids only; read before checkout for flash-sale admission
+    @Query("select i.product.id from Cart c join c.items i where c.userEmail = :email")
+    List<Long> findProductIdsByUserEmail(@Param("email") String email);
+
+    // read model for GET /api/cart: one statement, no entities
+    @Query("""
+            select new com.wellness.wellness_backend.dto.CartLineRow(
+                c.id, c.userEmail, c.createdAt,
+                i.id, i.quantity, i.priceAtAddTime,
+                p.id, p.name, p.price)
+            from Cart c
+            left join c.items i
+            left join i.product p
+            where c.userEmail = :email
+            order by i.id
+            """)
+    List<CartLineRow> findCartLines(@Param("email") String email);
+
+    // race-free cart creation (user_email is unique)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO carts (id, user_email, created_at) VALUES (:id, :email, :now)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id,
+                       @Param("email") String email,
+                       @Param("now") LocalDateTime now);
 }
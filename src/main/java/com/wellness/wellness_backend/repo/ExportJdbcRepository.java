@@ -0,0 +1,53 @@
+package com.wellness.wellness_backend.repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+// Full-table reads for the admin exports. Uses its own JdbcTemplate with
+// fetchSize Integer.MIN_VALUE, which makes MySQL Connector/J stream rows
+// from a forward-only, read-only cursor instead of buffering the result.
+@Repository
+public class ExportJdbcRepository {
+
+    private final JdbcTemplate streaming;
+
+    public ExportJdbcRepository(DataSource dataSource) {
+        this.streaming = new JdbcTemplate(dataSource);
+        this.streaming.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public void streamProducts(RowCallbackHandler handler) {
+        streaming.query("""
+                SELECT id, name, description, price, stock, category, owner_email
+                FROM products
+                ORDER BY id
+                """, handler);
+    }
+
+    // one row per order item (order columns repeated), ordered by order id;
+    // orders without items come back once with null item columns
+    public void streamOrders(boolean archived, RowCallbackHandler handler) {
+        String orders = archived ? "orders_archive" : "orders";
+        String items = archived ? "order_items_archive" : "order_items";
+
+        streaming.query("""
+                SELECT o.id, o.user_email, o.status, o.total_amount, o.created_at,
+                       i.id AS item_id, i.product_id, i.quantity, i.price_at_purchase
+                FROM %s o
+                LEFT JOIN %s i ON i.order_id = o.id
+                ORDER BY o.id, i.id
+                """.formatted(orders, items), handler);
+    }
+
+    // never selects the password hash
+    public void streamUsers(RowCallbackHandler handler) {
+        streaming.query("""
+                SELECT id, name, email, role
+                FROM users
+                ORDER BY id
+                """, handler);
+    }
+}
@@ -0,0 +1,29 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserEmailAndIdempotencyKeyAndExpiresAtAfter(
+            String userEmail, String idempotencyKey, LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // an expired record keeps its (user_email, idempotency_key) unique key
+    // until purgeExpired runs; clearing it lets the key be used again
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.userEmail = :userEmail"
+            + " and r.idempotencyKey = :idempotencyKey and r.expiresAt <= :now")
+    int deleteExpiredKey(@Param("userEmail") String userEmail,
+                         @Param("idempotencyKey") String idempotencyKey,
+                         @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,166 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.dto.OrderHeaderRow;
+import com.wellness.wellness_backend.dto.OrderLineRow;
+import com.wellness.wellness_backend.model.OrderStatus;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Cold storage for closed orders: orders_archive / order_items_archive.
+// Created from the hot tables (CREATE TABLE ... LIKE), no foreign keys,
+// and not mapped as entities; ensureTables keeps their columns in step.
+@Repository
+public class OrderArchiveJdbcRepository {
+
+    private static final RowMapper<OrderHeaderRow> HEADER = (rs, i) -> new OrderHeaderRow(
+            rs.getLong("id"),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getDouble("total_amount"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+
+    public OrderArchiveJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    // LIKE copies the hot schema only when the table is created. Later
+    // columns that ddl-auto=update adds to the hot tables are added here
+    // on the next start, nullable since archived rows predate them. As
+    // with ddl-auto=update, nothing is dropped or altered; renamed or
+    // retyped columns and new indexes on the archive are a manual step.
+    public void ensureTables() {
+        syncTable("orders", "orders_archive");
+        syncTable("order_items", "order_items_archive");
+    }
+
+    private void syncTable(String hot, String archive) {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + archive + " LIKE " + hot);
+
+        Set<String> archived = new HashSet<>(columnsOf(archive));
+        List<String> missing = jdbc.query("""
+                SELECT column_name, column_type FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name = ?
+                ORDER BY ordinal_position
+                """,
+                (rs, i) -> archived.contains(rs.getString(1))
+                        ? null
+                        : "`" + rs.getString(1) + "` " + rs.getString(2) + " NULL",
+                hot);
+
+        for (String column : missing) {
+            if (column != null) {
+                jdbc.execute("ALTER TABLE " + archive + " ADD COLUMN " + column);
+            }
+        }
+    }
+
+    private List<String> columnsOf(String table) {
+        return jdbc.queryForList("""
+                SELECT column_name FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name = ?
+                ORDER BY ordinal_position
+                """, String.class, table);
+    }
+
+    // every hot column; the archive has them all (see ensureTables)
+    private String columnList(String hot) {
+        return columnsOf(hot).stream()
+                .map(column -> "`" + column + "`")
+                .collect(Collectors.joining(", "));
+    }
+
+    // =========================
+    // ARCHIVE JOB
+    // =========================
+    public List<Long> lockClosedBefore(LocalDateTime cutoff, int limit) {
+        return jdbc.queryForList("""
+                SELECT id FROM orders
+                WHERE status IN ('DELIVERED', 'CANCELLED') AND created_at < ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE
+                """, Long.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    // copy then delete; caller's transaction makes it a move
+    public void moveToArchive(Collection<Long> orderIds) {
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", orderIds);
+        String itemColumns = columnList("order_items");
+        String orderColumns = columnList("orders");
+
+        namedJdbc.update("INSERT INTO order_items_archive (" + itemColumns + ") "
+                + "SELECT " + itemColumns + " FROM order_items WHERE order_id IN (:ids)", ids);
+        namedJdbc.update("INSERT INTO orders_archive (" + orderColumns + ") "
+                + "SELECT " + orderColumns + " FROM orders WHERE id IN (:ids)", ids);
+
+        namedJdbc.update("DELETE FROM order_items WHERE order_id IN (:ids)", ids);
+        namedJdbc.update("DELETE FROM orders WHERE id IN (:ids)", ids);
+    }
+
+    // =========================
+    // HISTORY READS (same keyset as OrderRepository)
+    // =========================
+    public List<OrderHeaderRow> historyPage(String email,
+                                            LocalDateTime afterCreatedAt,
+                                            Long afterId,
+                                            int limit) {
+        if (afterCreatedAt == null) {
+            return jdbc.query("""
+                    SELECT id, status, total_amount, created_at
+                    FROM orders_archive
+                    WHERE user_email = ?
+                    ORDER BY created_at DESC, id DESC
+                    LIMIT ?
+                    """, HEADER, email, limit);
+        }
+
+        Timestamp ts = Timestamp.valueOf(afterCreatedAt);
+        return jdbc.query("""
+                SELECT id, status, total_amount, created_at
+                FROM orders_archive
+                WHERE user_email = ?
+                  AND (created_at < ? OR (created_at = ? AND id < ?))
+                ORDER BY created_at DESC, id DESC
+                LIMIT ?
+                """, HEADER, email, ts, ts, afterId, limit);
+    }
+
+    // archived lines outlive their products (no foreign key here): a
+    // deleted product keeps its id and falls back to the price paid
+    public List<OrderLineRow> findLinesByOrderIds(Collection<Long> orderIds) {
+        return namedJdbc.query("""
+                SELECT i.order_id, i.id, i.quantity, i.price_at_purchase,
+                       i.product_id, p.name, COALESCE(p.price, i.price_at_purchase) AS price
+                FROM order_items_archive i
+                LEFT JOIN products p ON p.id = i.product_id
+                WHERE i.order_id IN (:ids)
+                ORDER BY i.id
+                """,
+                new MapSqlParameterSource("ids", orderIds),
+                (rs, n) -> new OrderLineRow(
+                        rs.getLong("order_id"),
+                        rs.getLong("id"),
+                        rs.getInt("quantity"),
+                        rs.getDouble("price_at_purchase"),
+                        rs.getLong("product_id"),
+                        rs.getString("name"),
+                        rs.getDouble("price")
+                ));
+    }
+}
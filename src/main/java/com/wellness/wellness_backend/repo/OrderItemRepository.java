@@ -1,8 +1,26 @@
 package com.wellness.wellness_backend.repo;
 
+import com.wellness.wellness_backend.dto.OrderLineRow;
 import com.wellness.wellness_backend.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
 
+    // lines + products for a page of orders in one statement; a line
+    // whose product is gone keeps its product id and the price paid
+    @Query("""
+            select new com.wellness.wellness_backend.dto.OrderLineRow(
+                i.order.id, i.id, i.quantity, i.priceAtPurchase,
+                i.product.id, p.name, coalesce(p.price, i.priceAtPurchase))
+            from OrderItem i
+            left join i.product p
+            where i.order.id in :orderIds
+            order by i.id
+            """)
+    List<OrderLineRow> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
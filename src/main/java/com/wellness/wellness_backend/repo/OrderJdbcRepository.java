@@ -0,0 +1,100 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.model.OrderStatus;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// Set-based order status writes for the admin bulk endpoint.
+// Rows are locked (FOR UPDATE) before classification, so the guarded
+// UPDATE that follows sees exactly the statuses that were checked.
+@Repository
+public class OrderJdbcRepository {
+
+    public record OrderStatusRow(Long id,
+                                 OrderStatus status,
+                                 String userEmail,
+                                 double totalAmount,
+                                 LocalDateTime createdAt) {}
+
+    private static final RowMapper<OrderStatusRow> ROW = (rs, i) -> new OrderStatusRow(
+            rs.getLong("id"),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getString("user_email"),
+            rs.getDouble("total_amount"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public OrderJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    public List<OrderStatusRow> lockByIds(Collection<Long> ids) {
+        return jdbc.query("""
+                SELECT id, status, user_email, total_amount, created_at
+                FROM orders
+                WHERE id IN (:ids)
+                ORDER BY id
+                FOR UPDATE
+                """, new MapSqlParameterSource("ids", ids), ROW);
+    }
+
+    // Next keyset page of orders in `status` created in [from, to), after
+    // (afterCreatedAt, afterId); afterCreatedAt is null for the first page.
+    // Paged in (created_at, id) order so the scan walks
+    // idx_orders_status_created (InnoDB appends id to it), and FOR UPDATE
+    // locks only the page instead of every row in the status.
+    public List<OrderStatusRow> lockPageByFilter(OrderStatus status,
+                                                 LocalDateTime from,
+                                                 LocalDateTime to,
+                                                 LocalDateTime afterCreatedAt,
+                                                 long afterId,
+                                                 int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("from", from == null ? null : Timestamp.valueOf(from))
+                .addValue("to", to == null ? null : Timestamp.valueOf(to))
+                .addValue("afterCreatedAt", afterCreatedAt == null ? null : Timestamp.valueOf(afterCreatedAt))
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+
+        return jdbc.query("""
+                SELECT id, status, user_email, total_amount, created_at
+                FROM orders
+                WHERE status = :status
+                  AND (:from IS NULL OR created_at >= :from)
+                  AND (:to IS NULL OR created_at < :to)
+                  AND (:afterCreatedAt IS NULL
+                       OR created_at > :afterCreatedAt
+                       OR (created_at = :afterCreatedAt AND id > :afterId))
+                ORDER BY created_at, id
+                LIMIT :limit
+                FOR UPDATE
+                """, params, ROW);
+    }
+
+    // guarded: only rows still in an allowed source status change
+    public int updateStatus(Collection<Long> ids, OrderStatus target, Set<OrderStatus> sources) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("target", target.name())
+                .addValue("sources", sources.stream().map(Enum::name).toList());
+
+        return jdbc.update("""
+                UPDATE orders
+                SET status = :target
+                WHERE id IN (:ids) AND status IN (:sources)
+                """, params);
+    }
+}
@@ -1,12 +1,51 @@
 package com.wellness.wellness_backend.repo;
 
+import com.wellness.wellness_backend.dto.OrderHeaderRow;
 import com.wellness.wellness_backend.model.Order;
+import com.wellness.wellness_backend.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByUserEmailOrderByCreatedAtDesc(String userEmail);
-}
+    // =========================
+    // ORDER HISTORY (keyset on createdAt, id; newest first)
+    // served by idx_orders_user_created
+    // =========================
+
+    @Query("""
+            select new com.wellness.wellness_backend.dto.OrderHeaderRow(
+                o.id, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            where o.userEmail = :email
+            order by o.createdAt desc, o.id desc
+            """)
+    List<OrderHeaderRow> firstHistoryPage(@Param("email") String email, Pageable limit);
 
+    @Query("""
+            select new com.wellness.wellness_backend.dto.OrderHeaderRow(
+                o.id, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            where o.userEmail = :email
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc
+            """)
+    List<OrderHeaderRow> nextHistoryPage(@Param("email") String email,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable limit);
+
+    // guarded: changes nothing unless the order is still in `expected`.
+    // Clears the persistence context, so reload the order afterwards.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :status where o.id = :id and o.status = :expected")
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("expected") OrderStatus expected,
+                              @Param("status") OrderStatus status);
+}
@@ -0,0 +1,82 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.model.id.SnowflakeIdGenerator;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Slot inserts for the row-per-slot format. INSERT IGNORE leans on the
+// (practitioner_id, slot) unique key, so a slot added concurrently by
+// someone else is skipped, not an error, and callers learn which of
+// their slots actually went in.
+@Repository
+public class PractitionerAvailabilityJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT IGNORE INTO practitioner_availability (id, practitioner_id, slot, booked)
+            VALUES (?, ?, ?, FALSE)
+            """;
+
+    // ids of rows in a practitioner's slot range (read back after insertAll)
+    private static final String IDS_BETWEEN_SQL = """
+            SELECT id FROM practitioner_availability
+            WHERE practitioner_id = ? AND slot BETWEEN ? AND ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public PractitionerAvailabilityJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // false when the slot already exists
+    public boolean insert(Long practitionerId, LocalDateTime slot) {
+        return jdbc.update(INSERT_SQL,
+                SnowflakeIdGenerator.nextId(), practitionerId, Timestamp.valueOf(slot)) == 1;
+    }
+
+    // Returns the slots this call inserted, in input order. With
+    // rewriteBatchedStatements the driver reports SUCCESS_NO_INFO for
+    // every row, so the batch's update counts can't say which rows
+    // INSERT IGNORE skipped; the ids assigned here can. Run it inside
+    // the caller's transaction so the read-back sees its own rows.
+    public List<LocalDateTime> insertAll(Long practitionerId, Collection<LocalDateTime> slots, int batchSize) {
+
+        if (slots.isEmpty()) return List.of();
+
+        Map<LocalDateTime, Long> ids = new LinkedHashMap<>();
+        for (LocalDateTime slot : slots) {
+            ids.putIfAbsent(slot, SnowflakeIdGenerator.nextId());
+        }
+
+        jdbc.batchUpdate(INSERT_SQL, ids.entrySet(), batchSize, (ps, e) -> {
+            ps.setLong(1, e.getValue());
+            ps.setLong(2, practitionerId);
+            ps.setTimestamp(3, Timestamp.valueOf(e.getKey()));
+        });
+
+        Set<Long> stored = new HashSet<>(jdbc.queryForList(IDS_BETWEEN_SQL, Long.class,
+                practitionerId,
+                Timestamp.valueOf(Collections.min(ids.keySet())),
+                Timestamp.valueOf(Collections.max(ids.keySet()))));
+
+        List<LocalDateTime> inserted = new ArrayList<>();
+        ids.forEach((slot, id) -> {
+            if (stored.contains(id)) {
+                inserted.add(slot);
+            }
+        });
+        return inserted;
+    }
+}
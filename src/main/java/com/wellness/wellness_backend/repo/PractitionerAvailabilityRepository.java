@@ -2,6 +2,9 @@ package com.wellness.wellness_backend.repo;
 
 import com.wellness.wellness_backend.model.PractitionerAvailability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,4 +17,45 @@ public interface PractitionerAvailabilityRepository
 
     Optional<PractitionerAvailability>
     findByPractitionerIdAndSlot(Long practitionerId, LocalDateTime slot);
+
+    // availability index warm-up
+    List<PractitionerAvailability> findByBookedFalseAndSlotGreaterThanEqual(LocalDateTime from);
+
+    boolean existsByPractitionerIdAndSlot(Long practitionerId, LocalDateTime slot);
+
+    // template expansion: existing slots in a range, for conflict detection
+    @Query("""
+            select a.slot from PractitionerAvailability a
+            where a.practitionerId = :practitionerId
+              and a.slot >= :from and a.slot <= :to
+            """)
+    List<LocalDateTime> findSlotsBetween(@Param("practitionerId") Long practitionerId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    // =========================
+    // RESERVATION
+    // single conditional statement: returns 0 when the slot is
+    // missing or already booked
+    // =========================
+    @Modifying
+    @Query("""
+            update PractitionerAvailability a set a.booked = true
+            where a.practitionerId = :practitionerId
+              and a.slot = :slot
+              and a.booked = false
+            """)
+    int reserve(@Param("practitionerId") Long practitionerId,
+                @Param("slot") LocalDateTime slot);
+
+    // cancellation: returns 0 when the slot was not booked
+    @Modifying
+    @Query("""
+            update PractitionerAvailability a set a.booked = false
+            where a.practitionerId = :practitionerId
+              and a.slot = :slot
+              and a.booked = true
+            """)
+    int release(@Param("practitionerId") Long practitionerId,
+                @Param("slot") LocalDateTime slot);
 }
@@ -0,0 +1,41 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.model.Product;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+
+// Batched product inserts for the bulk import. Ids must already be set
+// (SnowflakeIdGenerator); with rewriteBatchedStatements each batch goes
+// to MySQL as one multi-row INSERT.
+@Repository
+public class ProductJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO products (id, name, description, price, stock, category, owner_email)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public ProductJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void insertAll(List<Product> products, int batchSize) {
+        jdbc.batchUpdate(INSERT_SQL, products, batchSize, (ps, p) -> {
+            ps.setLong(1, p.getId());
+            ps.setString(2, p.getName());
+            if (p.getDescription() != null) ps.setString(3, p.getDescription());
+            else ps.setNull(3, Types.VARCHAR);
+            ps.setDouble(4, p.getPrice());
+            ps.setInt(5, p.getStock());
+            if (p.getCategory() != null) ps.setString(6, p.getCategory());
+            else ps.setNull(6, Types.VARCHAR);
+            ps.setString(7, p.getOwnerEmail());
+        });
+    }
+}
@@ -1,7 +1,110 @@
 package com.wellness.wellness_backend.repo;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.wellness.wellness_backend.model.Product;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // =========================
+    // STOCK
+    // single conditional statement: returns 0 when stock < qty, or when
+    // a flash sale holds the stock
+    // =========================
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :qty"
+            + " where p.id = :id and p.stock >= :qty and p.flashSale = false")
+    int decrementStock(@Param("id") Long id, @Param("qty") int qty);
+
+    // flash-sale write-back: units were already reserved in memory
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :qty where p.id = :id")
+    int consumeStock(@Param("id") Long id, @Param("qty") int qty);
+
+    @Query("select p.stock from Product p where p.id = :id")
+    Integer findStockById(@Param("id") Long id);
+
+    // flash-sale hand-over; the UPDATE also takes the row lock
+    @Modifying
+    @Query("update Product p set p.flashSale = :on where p.id = :id")
+    int setFlashSale(@Param("id") Long id, @Param("on") boolean on);
+
+    // locking read, so it sees a flag committed after this transaction's snapshot
+    @Query(value = "SELECT COUNT(*) FROM products WHERE id = :id AND flash_sale LOCK IN SHARE MODE",
+            nativeQuery = true)
+    long countOnFlashSale(@Param("id") Long id);
+
+    @Query("select p.id from Product p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // =========================
+    // KEYSET PAGINATION
+    // (Pageable is only used as a LIMIT, always page 0)
+    // =========================
+
+    @Query("select p from Product p order by p.id asc")
+    List<Product> firstPageById(Pageable limit);
+
+    @Query("select p from Product p order by p.id desc")
+    List<Product> firstPageByIdDesc(Pageable limit);
+
+    @Query("select p from Product p where p.id > :id order by p.id asc")
+    List<Product> nextPageById(@Param("id") Long id, Pageable limit);
+
+    @Query("select p from Product p where p.id < :id order by p.id desc")
+    List<Product> nextPageByIdDesc(@Param("id") Long id, Pageable limit);
+
+    @Query("select p from Product p order by p.price asc, p.id asc")
+    List<Product> firstPageByPrice(Pageable limit);
+
+    @Query("select p from Product p order by p.price desc, p.id desc")
+    List<Product> firstPageByPriceDesc(Pageable limit);
+
+    @Query("""
+            select p from Product p
+            where p.price > :price or (p.price = :price and p.id > :id)
+            order by p.price asc, p.id asc
+            """)
+    List<Product> nextPageByPrice(@Param("price") Double price,
+                                  @Param("id") Long id,
+                                  Pageable limit);
+
+    @Query("""
+            select p from Product p
+            where p.price < :price or (p.price = :price and p.id < :id)
+            order by p.price desc, p.id desc
+            """)
+    List<Product> nextPageByPriceDesc(@Param("price") Double price,
+                                      @Param("id") Long id,
+                                      Pageable limit);
+
+    @Query("select p from Product p order by p.name asc, p.id asc")
+    List<Product> firstPageByName(Pageable limit);
+
+    @Query("select p from Product p order by p.name desc, p.id desc")
+    List<Product> firstPageByNameDesc(Pageable limit);
+
+    @Query("""
+            select p from Product p
+            where p.name > :name or (p.name = :name and p.id > :id)
+            order by p.name asc, p.id asc
+            """)
+    List<Product> nextPageByName(@Param("name") String name,
+                                 @Param("id") Long id,
+                                 Pageable limit);
+
+    @Query("""
+            select p from Product p
+            where p.name < :name or (p.name = :name and p.id < :id)
+            order by p.name desc, p.id desc
+            """)
+    List<Product> nextPageByNameDesc(@Param("name") String name,
+                                     @Param("id") Long id,
+                                     Pageable limit);
 }
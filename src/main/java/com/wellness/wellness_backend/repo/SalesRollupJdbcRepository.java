@@ -0,0 +1,157 @@
+package com.wellness.wellness_backend.repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Set-based writes to sales_rollups: one INSERT ... SELECT per
+// granularity folds an order's lines (or a whole time range) into the
+// hour and day buckets of the order's created_at.
+// Each SELECT is the derived table new, so the upsert can add new.units
+// without the deprecated VALUES().
+@Repository
+public class SalesRollupJdbcRepository {
+
+    private static final String HOUR_BUCKET = "DATE_FORMAT(o.created_at, '%Y-%m-%d %H:00:00')";
+    private static final String DAY_BUCKET = "CAST(DATE(o.created_at) AS DATETIME)";
+
+    // sign is +1 for a sale, -1 to take a cancelled order back out
+    private static final String APPLY_ORDER_SQL = """
+            INSERT INTO sales_rollups (granularity, bucket_start, product_id, seller_email, units, revenue)
+            SELECT * FROM (
+                SELECT '%s' AS granularity, %s AS bucket_start, p.id AS product_id, p.owner_email AS seller_email,
+                       ? * SUM(oi.quantity) AS units, ? * SUM(oi.quantity * oi.price_at_purchase) AS revenue
+                FROM orders o
+                JOIN order_items oi ON oi.order_id = o.id
+                JOIN products p ON p.id = oi.product_id
+                WHERE o.id = ?
+                GROUP BY 2, p.id, p.owner_email
+            ) AS new
+            ON DUPLICATE KEY UPDATE
+                units = sales_rollups.units + new.units,
+                revenue = sales_rollups.revenue + new.revenue
+            """;
+
+    // same as APPLY_ORDER_SQL for a set of orders (bulk status changes)
+    private static final String APPLY_ORDERS_SQL = """
+            INSERT INTO sales_rollups (granularity, bucket_start, product_id, seller_email, units, revenue)
+            SELECT * FROM (
+                SELECT '%s' AS granularity, %s AS bucket_start, p.id AS product_id, p.owner_email AS seller_email,
+                       :sign * SUM(oi.quantity) AS units, :sign * SUM(oi.quantity * oi.price_at_purchase) AS revenue
+                FROM orders o
+                JOIN order_items oi ON oi.order_id = o.id
+                JOIN products p ON p.id = oi.product_id
+                WHERE o.id IN (:ids)
+                GROUP BY 2, p.id, p.owner_email
+            ) AS new
+            ON DUPLICATE KEY UPDATE
+                units = sales_rollups.units + new.units,
+                revenue = sales_rollups.revenue + new.revenue
+            """;
+
+    // Hot and archived orders in one statement, so the range is read from
+    // one snapshot: at READ COMMITTED every statement gets its own, and an
+    // order archived between two statements would count twice or not at all.
+    private static final String APPLY_RANGE_SQL = """
+            INSERT INTO sales_rollups (granularity, bucket_start, product_id, seller_email, units, revenue)
+            SELECT * FROM (
+                SELECT '%1$s' AS granularity, %2$s AS bucket_start, p.id AS product_id, p.owner_email AS seller_email,
+                       SUM(o.quantity) AS units, SUM(o.quantity * o.price_at_purchase) AS revenue
+                FROM (
+                    SELECT o.created_at, oi.product_id, oi.quantity, oi.price_at_purchase
+                    FROM orders o
+                    JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.created_at >= ? AND o.created_at < ?
+                      AND o.status <> 'CANCELLED'
+                    UNION ALL
+                    SELECT o.created_at, oi.product_id, oi.quantity, oi.price_at_purchase
+                    FROM orders_archive o
+                    JOIN order_items_archive oi ON oi.order_id = o.id
+                    WHERE o.created_at >= ? AND o.created_at < ?
+                      AND o.status <> 'CANCELLED'
+                ) o
+                JOIN products p ON p.id = o.product_id
+                GROUP BY 2, p.id, p.owner_email
+            ) AS new
+            ON DUPLICATE KEY UPDATE
+                units = sales_rollups.units + new.units,
+                revenue = sales_rollups.revenue + new.revenue
+            """;
+
+    private static final String APPLY_ORDER_HOUR = APPLY_ORDER_SQL.formatted("HOUR", HOUR_BUCKET);
+    private static final String APPLY_ORDER_DAY = APPLY_ORDER_SQL.formatted("DAY", DAY_BUCKET);
+    private static final String APPLY_ORDERS_HOUR = APPLY_ORDERS_SQL.formatted("HOUR", HOUR_BUCKET);
+    private static final String APPLY_ORDERS_DAY = APPLY_ORDERS_SQL.formatted("DAY", DAY_BUCKET);
+    private static final List<String> APPLY_RANGE = List.of(
+            APPLY_RANGE_SQL.formatted("HOUR", HOUR_BUCKET),
+            APPLY_RANGE_SQL.formatted("DAY", DAY_BUCKET)
+    );
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+
+    public SalesRollupJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    public void applyOrder(Long orderId, int sign) {
+        jdbc.update(APPLY_ORDER_HOUR, sign, sign, orderId);
+        jdbc.update(APPLY_ORDER_DAY, sign, sign, orderId);
+    }
+
+    public void applyOrders(Collection<Long> orderIds, int sign) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sign", sign)
+                .addValue("ids", orderIds);
+        namedJdbc.update(APPLY_ORDERS_HOUR, params);
+        namedJdbc.update(APPLY_ORDERS_DAY, params);
+    }
+
+    // replaces every bucket in [from, to) with totals recomputed from
+    // orders, hot and archived
+    public void rebuildRange(LocalDateTime from, LocalDateTime to) {
+        deleteRange(from, to);
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp end = Timestamp.valueOf(to);
+        for (String sql : APPLY_RANGE) {
+            jdbc.update(sql, start, end, start, end);
+        }
+    }
+
+    public int deleteRange(LocalDateTime from, LocalDateTime to) {
+        return jdbc.update(
+                "DELETE FROM sales_rollups WHERE bucket_start >= ? AND bucket_start < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public int deleteOutside(LocalDateTime from, LocalDateTime to) {
+        return jdbc.update(
+                "DELETE FROM sales_rollups WHERE bucket_start < ? OR bucket_start >= ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // [min, max] created_at over hot and archived orders, or null when there are none
+    public LocalDateTime[] findOrderTimeRange() {
+        return jdbc.query("""
+                SELECT MIN(lo), MAX(hi) FROM (
+                    SELECT MIN(created_at) AS lo, MAX(created_at) AS hi FROM orders
+                    UNION ALL
+                    SELECT MIN(created_at), MAX(created_at) FROM orders_archive
+                ) t
+                """,
+                rs -> {
+                    if (!rs.next() || rs.getTimestamp(1) == null) return null;
+                    return new LocalDateTime[]{
+                            rs.getTimestamp(1).toLocalDateTime(),
+                            rs.getTimestamp(2).toLocalDateTime()
+                    };
+                });
+    }
+}
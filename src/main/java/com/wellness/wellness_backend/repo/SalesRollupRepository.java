@@ -0,0 +1,49 @@
+package com.wellness.wellness_backend.repo;
+
+import com.wellness.wellness_backend.dto.SalesRollupDTO;
+import com.wellness.wellness_backend.dto.SalesTotalDTO;
+import com.wellness.wellness_backend.model.RollupGranularity;
+import com.wellness.wellness_backend.model.SalesRollup;
+import com.wellness.wellness_backend.model.SalesRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Read side of the sales rollups (writes: SalesRollupJdbcRepository)
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupId> {
+
+    @Query("""
+            select new com.wellness.wellness_backend.dto.SalesRollupDTO(
+                r.id.bucketStart, r.id.productId, r.sellerEmail, r.units, r.revenue)
+            from SalesRollup r
+            where r.id.granularity = :granularity
+              and r.id.bucketStart >= :from and r.id.bucketStart < :to
+              and (:productId is null or r.id.productId = :productId)
+              and (:seller is null or r.sellerEmail = :seller)
+              and (r.units <> 0 or r.revenue <> 0)
+            order by r.id.bucketStart, r.id.productId
+            """)
+    List<SalesRollupDTO> findByProduct(@Param("granularity") RollupGranularity granularity,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("productId") Long productId,
+                                       @Param("seller") String seller);
+
+    @Query("""
+            select new com.wellness.wellness_backend.dto.SalesTotalDTO(
+                r.id.bucketStart, r.sellerEmail, sum(r.units), sum(r.revenue))
+            from SalesRollup r
+            where r.id.granularity = :granularity
+              and r.id.bucketStart >= :from and r.id.bucketStart < :to
+              and (:seller is null or r.sellerEmail = :seller)
+            group by r.id.bucketStart, r.sellerEmail
+            order by r.id.bucketStart, r.sellerEmail
+            """)
+    List<SalesTotalDTO> findBySeller(@Param("granularity") RollupGranularity granularity,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("seller") String seller);
+}
@@ -0,0 +1,373 @@
+package com.wellness.wellness_backend.search;
+
+import com.wellness.wellness_backend.dto.ProductFacetsDTO;
+import com.wellness.wellness_backend.event.ProductChangedEvent;
+import com.wellness.wellness_backend.event.ProductStockChangedEvent;
+import com.wellness.wellness_backend.event.ProductsImportedEvent;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index for storefront filters (category, price band, in stock, seller).
+ *
+ * Every product gets a dense ordinal so each filter value is a compact
+ * BitSet over ordinals. A query ANDs the selected bitmaps and then walks
+ * the matching ordinals once, reading each product's category / band /
+ * seller from flat arrays to produce all facet counts in that single pass.
+ *
+ * Kept in sync through ProductChangedEvent, ProductsImportedEvent and
+ * ProductStockChangedEvent, like ProductSearchIndex. docs holds detached
+ * copies (Product.copy), and a stock delta updates the copy together with
+ * the in-stock bitmap, so the returned items always agree with the filter.
+ */
+@Component
+public class ProductFacetIndex {
+
+    // upper bounds of the price bands; the last band is open-ended
+    private static final double[] BAND_LIMITS = {10, 25, 50, 100};
+    private static final String[] BAND_LABELS = {"0-10", "10-25", "25-50", "50-100", "100+"};
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // productId <-> ordinal
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private Product[] docs = new Product[1024];
+    private int nextOrdinal;
+
+    // per ordinal facet values (-1 = none)
+    private int[] docCategory = new int[1024];
+    private int[] docBand = new int[1024];
+    private int[] docSeller = new int[1024];
+    private int[] docStock = new int[1024];
+
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final BitSet[] bands = new BitSet[BAND_LABELS.length];
+    private final ValueBitmaps categories = new ValueBitmaps();
+    private final ValueBitmaps sellers = new ValueBitmaps();
+
+    // ids changed while rebuild() reads the catalogue, null otherwise
+    // (guarded by the write lock)
+    private Set<Long> changedDuringRebuild;
+
+    public ProductFacetIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+        for (int i = 0; i < bands.length; i++) {
+            bands[i] = new BitSet();
+        }
+    }
+
+    // =========================
+    // WARM-UP
+    // =========================
+    // synchronized: one rebuild at a time (changedDuringRebuild is shared)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Product> all = productRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : new ArrayList<>(ordinals.keySet())) {
+                removeInternal(id);
+            }
+            for (Product p : all) {
+                addInternal(p);
+            }
+
+            // events that arrived while findAll ran may be missing from it,
+            // and stock deltas can't be replayed onto it; read those again
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            if (!changed.isEmpty()) {
+                for (Long id : changed) {
+                    removeInternal(id);
+                }
+                for (Product p : productRepository.findAllById(changed)) {
+                    addInternal(p);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =========================
+    // INCREMENTAL UPDATES
+    // =========================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+        } else {
+            index(event.getProduct());
+        }
+    }
+
+    // a committed import chunk, under one lock
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Product p : event.getProducts()) {
+                noteChanged(p.getId());
+                removeInternal(p.getId());
+                addInternal(p);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // only stock and the in-stock bitmap change; no need to reload the product
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            noteChanged(event.getProductId());
+            Integer ord = ordinals.get(event.getProductId());
+            if (ord != null) {
+                setStock(ord, docStock[ord] + event.getDelta());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            noteChanged(product.getId());
+            removeInternal(product.getId());
+            addInternal(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            noteChanged(productId);
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void noteChanged(Long productId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(productId);
+        }
+    }
+
+    // =========================
+    // QUERY
+    // =========================
+    public ProductFacetsDTO query(Collection<String> categoryFilter,
+                                 String priceBand,
+                                 boolean inStockOnly,
+                                 String seller,
+                                 int limit) {
+
+        lock.readLock().lock();
+        try {
+            BitSet match = (BitSet) live.clone();
+
+            if (categoryFilter != null && !categoryFilter.isEmpty()) {
+                BitSet any = new BitSet();
+                for (String c : categoryFilter) {
+                    BitSet bits = categories.get(c);
+                    if (bits != null) any.or(bits);
+                }
+                match.and(any);
+            }
+
+            if (priceBand != null && !priceBand.isBlank()) {
+                int band = Arrays.asList(BAND_LABELS).indexOf(priceBand);
+                if (band < 0) {
+                    throw new IllegalArgumentException(
+                            "priceBand must be one of " + String.join(", ", BAND_LABELS));
+                }
+                match.and(bands[band]);
+            }
+
+            if (inStockOnly) {
+                match.and(inStock);
+            }
+
+            if (seller != null && !seller.isBlank()) {
+                BitSet bits = sellers.get(seller);
+                if (bits == null) {
+                    match.clear();
+                } else {
+                    match.and(bits);
+                }
+            }
+
+            // single pass over the matching ordinals
+            int[] categoryCounts = new int[categories.size()];
+            int[] bandCounts = new int[BAND_LABELS.length];
+            int[] sellerCounts = new int[sellers.size()];
+            int inStockCount = 0;
+            int total = 0;
+            List<Product> items = new ArrayList<>(Math.min(limit, 64));
+
+            for (int i = match.nextSetBit(0); i >= 0; i = match.nextSetBit(i + 1)) {
+                total++;
+                if (docCategory[i] >= 0) categoryCounts[docCategory[i]]++;
+                if (docSeller[i] >= 0) sellerCounts[docSeller[i]]++;
+                bandCounts[docBand[i]]++;
+                if (docStock[i] > 0) inStockCount++;
+                if (items.size() < limit) items.add(docs[i].copy());
+            }
+
+            Map<String, Integer> bandMap = new LinkedHashMap<>();
+            for (int b = 0; b < BAND_LABELS.length; b++) {
+                bandMap.put(BAND_LABELS[b], bandCounts[b]);
+            }
+
+            return new ProductFacetsDTO(
+                    total,
+                    categories.toCounts(categoryCounts),
+                    bandMap,
+                    sellers.toCounts(sellerCounts),
+                    inStockCount,
+                    items
+            );
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================
+    // INTERNALS (caller holds write lock)
+    // =========================
+    private void addInternal(Product p) {
+
+        int ord = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        ensureCapacity(ord + 1);
+
+        ordinals.put(p.getId(), ord);
+        docs[ord] = p.copy();
+        live.set(ord);
+
+        docCategory[ord] = categories.set(p.getCategory(), ord);
+        docSeller[ord] = sellers.set(p.getOwnerEmail(), ord);
+
+        int band = bandOf(p.getPrice());
+        docBand[ord] = band;
+        bands[band].set(ord);
+
+        setStock(ord, p.getStock() == null ? 0 : p.getStock());
+    }
+
+    private void removeInternal(Long productId) {
+
+        Integer ord = ordinals.remove(productId);
+        if (ord == null) return;
+
+        live.clear(ord);
+        inStock.clear(ord);
+        bands[docBand[ord]].clear(ord);
+        categories.clear(docCategory[ord], ord);
+        sellers.clear(docSeller[ord], ord);
+
+        docs[ord] = null;
+        freeOrdinals.push(ord);
+    }
+
+    private void setStock(int ord, int stock) {
+        docs[ord].setStock(stock);
+        docStock[ord] = stock;
+        inStock.set(ord, stock > 0);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= docs.length) return;
+
+        int newSize = Math.max(size, docs.length * 2);
+        docs = Arrays.copyOf(docs, newSize);
+        docCategory = Arrays.copyOf(docCategory, newSize);
+        docBand = Arrays.copyOf(docBand, newSize);
+        docSeller = Arrays.copyOf(docSeller, newSize);
+        docStock = Arrays.copyOf(docStock, newSize);
+    }
+
+    private static int bandOf(Double price) {
+        double p = price == null ? 0 : price;
+        for (int i = 0; i < BAND_LIMITS.length; i++) {
+            if (p < BAND_LIMITS[i]) return i;
+        }
+        return BAND_LIMITS.length;
+    }
+
+    // =========================
+    // VALUE DICTIONARY + BITMAP PER VALUE
+    // =========================
+    private static final class ValueBitmaps {
+
+        // lower-cased key -> value id; labels keep the first spelling seen
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<BitSet> bitmaps = new ArrayList<>();
+
+        int size() {
+            return labels.size();
+        }
+
+        BitSet get(String value) {
+            Integer id = ids.get(key(value));
+            return id == null ? null : bitmaps.get(id);
+        }
+
+        // returns the value id, or -1 for a missing value
+        int set(String value, int ord) {
+            if (value == null || value.isBlank()) return -1;
+
+            int id = ids.computeIfAbsent(key(value), k -> {
+                labels.add(value.trim());
+                bitmaps.add(new BitSet());
+                return labels.size() - 1;
+            });
+            bitmaps.get(id).set(ord);
+            return id;
+        }
+
+        void clear(int id, int ord) {
+            if (id >= 0) bitmaps.get(id).clear(ord);
+        }
+
+        Map<String, Integer> toCounts(int[] counts) {
+            Map<String, Integer> result = new TreeMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) result.put(labels.get(i), counts[i]);
+            }
+            return result;
+        }
+
+        private static String key(String value) {
+            return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.wellness.wellness_backend.search;
+
+import com.wellness.wellness_backend.event.ProductChangedEvent;
+import com.wellness.wellness_backend.event.ProductStockChangedEvent;
+import com.wellness.wellness_backend.event.ProductsImportedEvent;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, category and description.
+ *
+ * Ranking is BM25 over a weighted term frequency (a name hit counts more
+ * than a category hit, which counts more than a description hit).
+ * The last query token also matches as a prefix, and tokens with no exact
+ * match fall back to terms within a small edit distance.
+ *
+ * Kept in sync through ProductChangedEvent, ProductsImportedEvent and
+ * ProductStockChangedEvent, so queries never touch the database. The
+ * index holds its own detached copy of each product and returns copies,
+ * never the event's entity.
+ */
+@Component
+public class ProductSearchIndex {
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // field weights
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // how much a non-exact term match is worth
+    private static final double PREFIX_BOOST = 0.8;
+    private static final double FUZZY_BOOST = 0.6;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (productId -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // productId -> indexed terms (needed to remove a document)
+    private final Map<Long, Set<String>> docTerms = new HashMap<>();
+    private final Map<Long, Integer> docLengths = new HashMap<>();
+    // productId -> private copy (see Product.copy)
+    private final Map<Long, Product> docs = new HashMap<>();
+    private long totalLength;
+
+    // ids changed while rebuild() reads the catalogue, null otherwise
+    // (guarded by the write lock)
+    private Set<Long> changedDuringRebuild;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // =========================
+    // WARM-UP
+    // =========================
+    // synchronized: one rebuild at a time (changedDuringRebuild is shared)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Product> all = productRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docTerms.clear();
+            docLengths.clear();
+            docs.clear();
+            totalLength = 0;
+            for (Product p : all) {
+                add(p);
+            }
+
+            // events that arrived while findAll ran may be missing from it,
+            // and stock deltas can't be replayed onto it; read those again
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            if (!changed.isEmpty()) {
+                for (Long id : changed) {
+                    removeInternal(id);
+                }
+                for (Product p : productRepository.findAllById(changed)) {
+                    add(p);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =========================
+    // INCREMENTAL UPDATES
+    // =========================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+        } else {
+            index(event.getProduct());
+        }
+    }
+
+    // a committed import chunk, under one lock
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Product p : event.getProducts()) {
+                noteChanged(p.getId());
+                removeInternal(p.getId());
+                add(p);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // stock is not indexed text: only the stored copy changes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            noteChanged(event.getProductId());
+            Product p = docs.get(event.getProductId());
+            if (p != null) {
+                p.setStock((p.getStock() == null ? 0 : p.getStock()) + event.getDelta());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            noteChanged(product.getId());
+            removeInternal(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            noteChanged(productId);
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void noteChanged(Long productId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(productId);
+        }
+    }
+
+    // =========================
+    // QUERY
+    // =========================
+    public List<Product> search(String query, int limit) {
+
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (docs.isEmpty()) {
+                return List.of();
+            }
+
+            double avgLength = (double) totalLength / docs.size();
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean last = i == tokens.size() - 1;
+
+                // best score per document for this query token
+                Map<Long, Double> tokenScores = new HashMap<>();
+                for (Map.Entry<String, Double> term : expand(tokens.get(i), last).entrySet()) {
+                    Map<Long, Integer> postingList = postings.get(term.getKey());
+                    double idf = idf(postingList.size());
+
+                    for (Map.Entry<Long, Integer> posting : postingList.entrySet()) {
+                        double tf = posting.getValue();
+                        double norm = K1 * (1 - B + B * docLengths.get(posting.getKey()) / avgLength);
+                        double score = term.getValue() * idf * tf * (K1 + 1) / (tf + norm);
+                        tokenScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+                tokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+
+            // top-k by score, ties broken by id for stable results
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(
+                    Map.Entry.<Long, Double>comparingByValue()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey(Comparator.reverseOrder())));
+
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                top.offer(e);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Product> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(docs.get(top.poll().getKey()).copy());
+            }
+            Collections.reverse(result);
+            return result;
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // term -> boost; exact beats prefix beats fuzzy
+    private Map<String, Double> expand(String token, boolean allowPrefix) {
+
+        Map<String, Double> terms = new HashMap<>();
+
+        if (postings.containsKey(token)) {
+            terms.put(token, 1.0);
+        }
+
+        if (allowPrefix) {
+            int added = 0;
+            for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                if (added++ >= MAX_PREFIX_EXPANSIONS) break;
+                terms.putIfAbsent(term, PREFIX_BOOST);
+            }
+        }
+
+        if (terms.isEmpty() && token.length() >= 4) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+
+            // typos in the first character are rare; only scan that slice
+            String first = token.substring(0, 1);
+            for (String term : postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (Math.abs(term.length() - token.length()) <= maxEdits
+                        && editDistance(token, term, maxEdits) <= maxEdits) {
+                    terms.put(term, FUZZY_BOOST);
+                }
+            }
+        }
+
+        return terms;
+    }
+
+    private double idf(int docFreq) {
+        int n = docs.size();
+        return Math.log(1 + (n - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    // =========================
+    // INTERNALS (caller holds write lock)
+    // =========================
+    private void add(Product p) {
+
+        Map<String, Integer> tf = new HashMap<>();
+        addField(tf, p.getName(), NAME_WEIGHT);
+        addField(tf, p.getCategory(), CATEGORY_WEIGHT);
+        addField(tf, p.getDescription(), DESCRIPTION_WEIGHT);
+
+        int length = 0;
+        for (Map.Entry<String, Integer> e : tf.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>())
+                    .put(p.getId(), e.getValue());
+            length += e.getValue();
+        }
+
+        docTerms.put(p.getId(), tf.keySet());
+        docLengths.put(p.getId(), length);
+        docs.put(p.getId(), p.copy());
+        totalLength += length;
+    }
+
+    private void removeInternal(Long productId) {
+
+        Set<String> terms = docTerms.remove(productId);
+        if (terms == null) return;
+
+        for (String term : terms) {
+            Map<Long, Integer> postingList = postings.get(term);
+            postingList.remove(productId);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+
+        totalLength -= docLengths.remove(productId);
+        docs.remove(productId);
+    }
+
+    private static void addField(Map<String, Integer> tf, String text, int weight) {
+        for (String token : tokenize(text)) {
+            tf.merge(token, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        // runs of letters / digits (the regex [\p{L}\p{N}]+), scanned by
+        // hand: a regex split per field was most of a bulk import's index time
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < lower.length(); ) {
+            int cp = lower.codePointAt(i);
+            if (isWordChar(cp)) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+
+    private static boolean isWordChar(int cp) {
+        if (Character.isLetter(cp)) return true;
+        int type = Character.getType(cp);
+        return type == Character.DECIMAL_DIGIT_NUMBER
+                || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
+    }
+
+    // Levenshtein distance with an early exit once every cell exceeds max
+    static int editDistance(String a, String b, int max) {
+
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+
+            if (rowMin > max) return max + 1;
+
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[b.length()];
+    }
+}
@@ -0,0 +1,316 @@
+package com.wellness.wellness_backend.search;
+
+import com.wellness.wellness_backend.dto.AvailableSlotDTO;
+import com.wellness.wellness_backend.event.PractitionerChangedEvent;
+import com.wellness.wellness_backend.event.SlotChangedEvent;
+import com.wellness.wellness_backend.model.Practitioner;
+import com.wellness.wellness_backend.repo.PractitionerRepository;
+import com.wellness.wellness_backend.service.AvailabilityStore;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Free practitioner slots held in memory, one bitmap per practitioner per
+ * day (bit = minute of the day).
+ *
+ * "Earliest free slot" queries read each candidate practitioner's first
+ * few set bits inside the window and k-way merge those short lists, so
+ * a search across a whole specialization touches no database rows.
+ *
+ * Loaded on startup and kept in sync through SlotChangedEvent and
+ * PractitionerChangedEvent, after the publishing transaction commits.
+ * A rebuild loads into a fresh State and swaps it in, so queries never
+ * see a half-built index; events that arrive while it loads are applied
+ * to the live State and replayed onto the new one before the swap.
+ */
+@Component
+public class SlotAvailabilityIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final PractitionerRepository practitionerRepository;
+    private final AvailabilityStore availabilityStore;
+
+    private volatile State state = new State();
+
+    // changes seen while a rebuild loads (guarded by this); null otherwise
+    private List<Consumer<State>> pending;
+
+    // one rebuild at a time
+    private final Object rebuildLock = new Object();
+
+    public SlotAvailabilityIndex(PractitionerRepository practitionerRepository,
+                                 AvailabilityStore availabilityStore) {
+        this.practitionerRepository = practitionerRepository;
+        this.availabilityStore = availabilityStore;
+    }
+
+    // =========================
+    // WARM-UP
+    // =========================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+
+            State fresh = new State();
+            for (Practitioner p : practitionerRepository.findByVerifiedTrue()) {
+                fresh.register(PractitionerEntry.of(p));
+            }
+            availabilityStore.forEachFree(LocalDate.now().atStartOfDay(),
+                    (practitionerId, slot) -> fresh.setFree(practitionerId, slot, true));
+
+            // anything committed during the load may be missing from it, or
+            // read before a later change; replaying in order settles both
+            synchronized (this) {
+                pending.forEach(change -> change.accept(fresh));
+                pending = null;
+                state = fresh;
+            }
+        }
+    }
+
+    // past days can never match a query
+    @Scheduled(cron = "0 5 0 * * *")
+    public void prune() {
+        long today = LocalDate.now().toEpochDay();
+        state.slots.values().forEach(d -> d.dropBefore(today));
+    }
+
+    // =========================
+    // SYNC
+    // =========================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(SlotChangedEvent event) {
+        Long practitionerId = event.getPractitionerId();
+        LocalDateTime slot = event.getSlot();
+        boolean free = event.isFree();
+        apply(s -> s.setFree(practitionerId, slot, free));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPractitionerChanged(PractitionerChangedEvent event) {
+        Long practitionerId = event.getPractitionerId();
+        if (event.isDeleted()) {
+            apply(s -> {
+                s.unregister(practitionerId);
+                s.slots.remove(practitionerId);
+            });
+        } else if (event.getPractitioner().isVerified()) {
+            PractitionerEntry entry = PractitionerEntry.of(event.getPractitioner());
+            apply(s -> s.register(entry));
+        } else {
+            apply(s -> s.unregister(practitionerId));
+        }
+    }
+
+    private synchronized void apply(Consumer<State> change) {
+        change.accept(state);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    private static String key(String specialization) {
+        return specialization == null ? "" : specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // =========================
+    // INDEX STATE
+    // =========================
+    private static final class State {
+
+        // verified practitioners only
+        final Map<Long, PractitionerEntry> practitioners = new ConcurrentHashMap<>();
+        final Map<String, Set<Long>> bySpecialization = new ConcurrentHashMap<>();
+
+        // practitionerId -> free slots
+        final Map<Long, DayBitmaps> slots = new ConcurrentHashMap<>();
+
+        void setFree(Long practitionerId, LocalDateTime slot, boolean free) {
+            if (free) {
+                slots.computeIfAbsent(practitionerId, id -> new DayBitmaps()).set(slot);
+            } else {
+                DayBitmaps days = slots.get(practitionerId);
+                if (days != null) {
+                    days.clear(slot);
+                }
+            }
+        }
+
+        void register(PractitionerEntry entry) {
+            PractitionerEntry old = practitioners.put(entry.id, entry);
+            if (old != null) {
+                removeFromSpecialization(old);
+            }
+            bySpecialization
+                    .computeIfAbsent(key(entry.specialization), k -> ConcurrentHashMap.newKeySet())
+                    .add(entry.id);
+        }
+
+        void unregister(Long practitionerId) {
+            PractitionerEntry old = practitioners.remove(practitionerId);
+            if (old != null) {
+                removeFromSpecialization(old);
+            }
+        }
+
+        private void removeFromSpecialization(PractitionerEntry entry) {
+            Set<Long> ids = bySpecialization.get(key(entry.specialization));
+            if (ids != null) {
+                ids.remove(entry.id);
+            }
+        }
+    }
+
+    // =========================
+    // QUERY
+    // =========================
+
+    /**
+     * Earliest free slots in [from, to) across verified practitioners of
+     * the specialization (all of them when blank), ordered by time.
+     */
+    public List<AvailableSlotDTO> earliest(String specialization,
+                                           LocalDateTime from,
+                                           LocalDateTime to,
+                                           int limit) {
+
+        State s = state;
+        Collection<Long> candidates = specialization == null || specialization.isBlank()
+                ? s.practitioners.keySet()
+                : s.bySpecialization.getOrDefault(key(specialization), Set.of());
+
+        // no practitioner can contribute more than limit slots
+        PriorityQueue<Cursor> heads = new PriorityQueue<>();
+        for (Long id : candidates) {
+            PractitionerEntry entry = s.practitioners.get(id);
+            DayBitmaps days = s.slots.get(id);
+            if (entry == null || days == null) continue;
+
+            List<LocalDateTime> first = days.firstFree(from, to, limit);
+            if (!first.isEmpty()) {
+                heads.add(new Cursor(entry, first));
+            }
+        }
+
+        List<AvailableSlotDTO> result = new ArrayList<>(limit);
+        while (result.size() < limit && !heads.isEmpty()) {
+            Cursor c = heads.poll();
+            result.add(new AvailableSlotDTO(
+                    c.entry.id, c.entry.name, c.entry.specialization, c.current()));
+            if (c.advance()) {
+                heads.add(c);
+            }
+        }
+        return result;
+    }
+
+    private record PractitionerEntry(Long id, String name, String specialization) {
+
+        static PractitionerEntry of(Practitioner p) {
+            return new PractitionerEntry(p.getId(), p.getName(), p.getSpecialization());
+        }
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+
+        final PractitionerEntry entry;
+        final List<LocalDateTime> slots;
+        int pos;
+
+        Cursor(PractitionerEntry entry, List<LocalDateTime> slots) {
+            this.entry = entry;
+            this.slots = slots;
+        }
+
+        LocalDateTime current() {
+            return slots.get(pos);
+        }
+
+        boolean advance() {
+            return ++pos < slots.size();
+        }
+
+        @Override
+        public int compareTo(Cursor o) {
+            int c = current().compareTo(o.current());
+            return c != 0 ? c : entry.id.compareTo(o.entry.id);
+        }
+    }
+
+    // =========================
+    // ONE PRACTITIONER'S DAYS
+    // =========================
+    private static final class DayBitmaps {
+
+        // epoch day -> free minutes of that day
+        private final TreeMap<Long, BitSet> days = new TreeMap<>();
+
+        synchronized void set(LocalDateTime slot) {
+            days.computeIfAbsent(slot.toLocalDate().toEpochDay(), d -> new BitSet(MINUTES_PER_DAY))
+                    .set(minuteOf(slot));
+        }
+
+        synchronized void clear(LocalDateTime slot) {
+            long day = slot.toLocalDate().toEpochDay();
+            BitSet bits = days.get(day);
+            if (bits == null) return;
+
+            bits.clear(minuteOf(slot));
+            if (bits.isEmpty()) {
+                days.remove(day);
+            }
+        }
+
+        synchronized List<LocalDateTime> firstFree(LocalDateTime from, LocalDateTime to, int limit) {
+
+            long fromDay = from.toLocalDate().toEpochDay();
+            long toDay = to.toLocalDate().toEpochDay();
+
+            // from is inclusive (rounded up to the next minute), to is exclusive
+            int fromMinute = minuteOf(from)
+                    + (from.getSecond() > 0 || from.getNano() > 0 ? 1 : 0);
+            int toMinute = minuteOf(to);
+
+            List<LocalDateTime> out = new ArrayList<>();
+            for (Map.Entry<Long, BitSet> e : days.subMap(fromDay, true, toDay, true).entrySet()) {
+
+                long day = e.getKey();
+                BitSet bits = e.getValue();
+                int start = day == fromDay ? fromMinute : 0;
+                int end = day == toDay ? toMinute : MINUTES_PER_DAY;
+                LocalDateTime midnight = LocalDate.ofEpochDay(day).atStartOfDay();
+
+                for (int m = bits.nextSetBit(start); m >= 0 && m < end; m = bits.nextSetBit(m + 1)) {
+                    out.add(midnight.plusMinutes(m));
+                    if (out.size() == limit) {
+                        return out;
+                    }
+                }
+            }
+            return out;
+        }
+
+        synchronized void dropBefore(long epochDay) {
+            days.headMap(epochDay).clear();
+        }
+
+        private static int minuteOf(LocalDateTime t) {
+            return t.getHour() * 60 + t.getMinute();
+        }
+    }
+}
@@ -39,7 +39,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = header.substring(7);
 
-            if (!jwtUtil.validateToken(token)) {
+            // checked before any claim is read: only access tokens authenticate
+            if (!jwtUtil.isAccessToken(token)) {
                 filterChain.doFilter(request, response);
                 return;
             }
@@ -7,18 +7,31 @@ import org.springframework.core.env.Environment;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class JwtUtil {
 
+    // both kinds of token share the signing key; "typ" tells them apart
+    private static final String TYPE_CLAIM = "typ";
+    private static final String TYPE_ACCESS = "access";
+    private static final String TYPE_GUEST_CART = "guest-cart";
+    // subject of guest cart tokens issued before "typ" existed
+    private static final String LEGACY_GUEST_CART_SUBJECT = "guest-cart";
+
     private final Key key;
     private final long expirationMs;
+    private final long guestCartExpirationMs;
 
     public JwtUtil(Environment env) {
         String secret = env.getProperty("jwt.secret");
         this.expirationMs = Long.parseLong(
                 env.getProperty("jwt.expirationMs", "3600000")
         );
+        this.guestCartExpirationMs = Long.parseLong(
+                env.getProperty("jwt.guestCartExpirationMs", "2592000000")
+        );
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
     }
 
@@ -31,6 +44,7 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .setSubject(username)
+                .claim(TYPE_CLAIM, TYPE_ACCESS)
                 .claim("userId", userId)
                 .claim("role", role)
                 .setIssuedAt(now)
@@ -65,6 +79,50 @@ public class JwtUtil {
         return claims(token).get("role", String.class);
     }
 
+    // =========================
+    // GUEST CART TOKENS
+    // items are packed as "productId:qty,productId:qty"
+    // =========================
+    public String generateGuestCartToken(Map<Long, Integer> items) {
+        StringBuilder packed = new StringBuilder();
+        items.forEach((productId, qty) -> {
+            if (packed.length() > 0) packed.append(',');
+            packed.append(productId).append(':').append(qty);
+        });
+
+        Date now = new Date();
+        Date exp = new Date(now.getTime() + guestCartExpirationMs);
+
+        return Jwts.builder()
+                .claim(TYPE_CLAIM, TYPE_GUEST_CART)
+                .claim("items", packed.toString())
+                .setIssuedAt(now)
+                .setExpiration(exp)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // throws JwtException / IllegalArgumentException for a bad token
+    public Map<Long, Integer> parseGuestCartToken(String token) {
+        Claims c = claims(token);
+
+        if (!TYPE_GUEST_CART.equals(typeOf(c))) {
+            throw new JwtException("Not a guest cart token");
+        }
+
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        String packed = c.get("items", String.class);
+        if (packed == null || packed.isEmpty()) {
+            return items;
+        }
+
+        for (String line : packed.split(",")) {
+            String[] parts = line.split(":");
+            items.put(Long.valueOf(parts[0]), Integer.valueOf(parts[1]));
+        }
+        return items;
+    }
+
     // =========================
     // TOKEN VALIDATION
     // =========================
@@ -76,4 +134,29 @@ public class JwtUtil {
             return false;
         }
     }
+
+    // valid AND issued by generateToken; guest cart tokens are signed
+    // with the same key and must never authenticate a request
+    public boolean isAccessToken(String token) {
+        try {
+            return TYPE_ACCESS.equals(typeOf(claims(token)));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    // Tokens issued before "typ" existed are typed by their shape: access
+    // tokens carry a role, guest cart tokens the "guest-cart" subject.
+    // They run out within jwt.expirationMs / jwt.guestCartExpirationMs
+    // of the deploy that added "typ"; after that this fallback can go.
+    private static String typeOf(Claims c) {
+        String type = c.get(TYPE_CLAIM, String.class);
+        if (type != null) {
+            return type;
+        }
+        if (LEGACY_GUEST_CART_SUBJECT.equals(c.getSubject())) {
+            return TYPE_GUEST_CART;
+        }
+        return c.get("role") != null ? TYPE_ACCESS : null;
+    }
 }
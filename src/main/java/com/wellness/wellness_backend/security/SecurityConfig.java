@@ -60,7 +60,7 @@ public class SecurityConfig {
         
         // Expose headers
         configuration.setExposedHeaders(Arrays.asList(
-            "Authorization", "Content-Type"
+            "Authorization", "Content-Type", "X-Guest-Cart"
         ));
         
         // Max age for preflight requests
@@ -105,6 +105,11 @@ public class SecurityConfig {
                     "/error"
                 ).permitAll()
 
+                // ============================================
+                // GUEST CART (state lives in a signed token)
+                // ============================================
+                .requestMatchers("/api/cart/guest/**").permitAll()
+
                 // ============================================
                 // PUBLIC READ ENDPOINTS
                 // ============================================
@@ -0,0 +1,41 @@
+package com.wellness.wellness_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Where practitioner slots are persisted.
+ *
+ * Two formats exist, selected by app.availability.storage:
+ * "rows" (RowAvailabilityStore, one practitioner_availability row per
+ * slot) and "day-mask" (DayMaskAvailabilityStore, one row per
+ * practitioner per day with 15-minute slots as bitmasks).
+ *
+ * Writes join the caller's transaction.
+ */
+public interface AvailabilityStore {
+
+    // throws 409 when the slot already exists
+    void add(Long practitionerId, LocalDateTime slot);
+
+    // bulk add that skips slots which already exist; returns the new ones
+    List<LocalDateTime> addAll(Long practitionerId, List<LocalDateTime> slots);
+
+    // true only for the caller that flipped the slot from free to booked
+    boolean reserve(Long practitionerId, LocalDateTime slot);
+
+    // true only for the caller that flipped the slot from booked to free
+    boolean release(Long practitionerId, LocalDateTime slot);
+
+    boolean exists(Long practitionerId, LocalDateTime slot);
+
+    // unbooked slots, in time order
+    List<LocalDateTime> freeSlots(Long practitionerId);
+
+    // every unbooked slot at or after from, as (practitionerId, slot)
+    void forEachFree(LocalDateTime from, BiConsumer<Long, LocalDateTime> action);
+
+    // slot grid: every slot starts on a multiple of this many minutes
+    int slotMinutes();
+}
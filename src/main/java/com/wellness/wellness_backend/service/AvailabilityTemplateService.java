@@ -0,0 +1,252 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.dto.AvailabilityTemplateRequest;
+import com.wellness.wellness_backend.event.SlotChangedEvent;
+import com.wellness.wellness_backend.model.AvailabilityTemplate;
+import com.wellness.wellness_backend.model.Practitioner;
+import com.wellness.wellness_backend.repo.AvailabilityTemplateRepository;
+import com.wellness.wellness_backend.repo.PractitionerRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recurring weekly availability.
+ *
+ * A template is expanded into concrete slots right away, up to
+ * app.availability.templates.horizon-days ahead, and a nightly job pushes
+ * every running template's horizon forward. Each expansion generates the
+ * range's slots in memory, lets AvailabilityStore.addAll drop the ones
+ * that already exist with a single range read, and writes the rest as
+ * batched inserts, so a quarter of availability is one request.
+ *
+ * Deleting a template stops further expansion; slots already created
+ * stay bookable.
+ */
+@Service
+public class AvailabilityTemplateService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityTemplateService.class);
+
+    private final AvailabilityTemplateRepository templateRepository;
+    private final PractitionerRepository practitionerRepository;
+    private final AvailabilityStore store;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+
+    private final int horizonDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AvailabilityTemplateService(
+            AvailabilityTemplateRepository templateRepository,
+            PractitionerRepository practitionerRepository,
+            AvailabilityStore store,
+            ApplicationEventPublisher events,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.availability.templates.horizon-days:90}") int horizonDays
+    ) {
+        this.templateRepository = templateRepository;
+        this.practitionerRepository = practitionerRepository;
+        this.store = store;
+        this.events = events;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.horizonDays = Math.max(horizonDays, 1);
+    }
+
+    // =========================
+    // PRACTITIONER: CRUD
+    // =========================
+    @Transactional
+    public Map<String, Object> create(Long userId, AvailabilityTemplateRequest request) {
+
+        Practitioner practitioner = requireVerified(userId);
+
+        LocalDate validFrom = request.getValidFrom() != null
+                ? request.getValidFrom() : LocalDate.now();
+
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "endTime must be after startTime");
+        }
+        if (request.getValidUntil() != null && request.getValidUntil().isBefore(validFrom)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "validUntil must not be before validFrom");
+        }
+        // off-grid slots would be rejected by the store on every expansion
+        int grid = store.slotMinutes();
+        int startMinute = request.getStartTime().toSecondOfDay() / 60;
+        if (startMinute % grid != 0 || request.getIntervalMinutes() % grid != 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "startTime and intervalMinutes must be multiples of " + grid + " minutes");
+        }
+
+        AvailabilityTemplate template = new AvailabilityTemplate();
+        template.setPractitionerId(practitioner.getId());
+        template.setDaysOfWeek(request.getDaysOfWeek());
+        template.setStartTime(request.getStartTime().withSecond(0).withNano(0));
+        template.setEndTime(request.getEndTime().withSecond(0).withNano(0));
+        template.setIntervalMinutes(request.getIntervalMinutes());
+        template.setValidFrom(validFrom);
+        template.setValidUntil(request.getValidUntil());
+        template.setExceptions(new HashSet<>(request.getExceptions()));
+        template.setCreatedAt(LocalDateTime.now());
+
+        AvailabilityTemplate saved = templateRepository.save(template);
+        int added = expand(saved, horizon());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("template", saved);
+        result.put("slotsAdded", added);
+        return result;
+    }
+
+    public List<AvailabilityTemplate> list(Long userId) {
+        return templateRepository.findByPractitionerIdOrderByCreatedAtAsc(
+                requireVerified(userId).getId());
+    }
+
+    @Transactional
+    public void delete(Long userId, Long templateId) {
+
+        AvailabilityTemplate template = templateRepository.findById(templateId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Template not found"));
+
+        if (!template.getPractitionerId().equals(requireVerified(userId).getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        templateRepository.delete(template);
+    }
+
+    // =========================
+    // ROLLING EXPANSION
+    // =========================
+    @Scheduled(cron = "${app.availability.templates.cron:0 15 1 * * *}")
+    public void scheduledExpand() {
+        if (running.get()) return;
+        expandAll();
+    }
+
+    public Map<String, Object> expandAll() {
+
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Template expansion already running");
+        }
+
+        long started = System.currentTimeMillis();
+        LocalDate horizon = horizon();
+        int templates = 0;
+        int failed = 0;
+        long slots = 0;
+
+        try {
+            for (Long id : templateRepository.findIdsDueForExpansion(LocalDate.now(), horizon)) {
+                try {
+                    // one transaction per template; a failure leaves
+                    // expandedThrough alone, so the next run retries it
+                    Integer added = tx.execute(status -> templateRepository.findById(id)
+                            .map(t -> expand(t, horizon))
+                            .orElse(0));
+                    slots += added == null ? 0 : added;
+                    templates++;
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("Expanding availability template {} failed", id, e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("horizon", horizon.toString());
+        result.put("templates", templates);
+        result.put("failed", failed);
+        result.put("slotsAdded", slots);
+        result.put("millis", System.currentTimeMillis() - started);
+        return result;
+    }
+
+    // last day slots are generated for
+    private LocalDate horizon() {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    // materializes (expandedThrough, horizon] of one template; caller's transaction
+    private int expand(AvailabilityTemplate t, LocalDate horizon) {
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = t.getValidFrom().isAfter(today) ? t.getValidFrom() : today;
+        if (t.getExpandedThrough() != null && !t.getExpandedThrough().isBefore(from)) {
+            from = t.getExpandedThrough().plusDays(1);
+        }
+        LocalDate to = t.getValidUntil() != null && t.getValidUntil().isBefore(horizon)
+                ? t.getValidUntil() : horizon;
+
+        if (from.isAfter(to)) return 0;
+
+        List<LocalDateTime> slots = generate(t, from, to, LocalDateTime.now());
+        List<LocalDateTime> added = store.addAll(t.getPractitionerId(), slots);
+
+        for (LocalDateTime slot : added) {
+            events.publishEvent(SlotChangedEvent.freed(t.getPractitionerId(), slot));
+        }
+
+        t.setExpandedThrough(to);
+        templateRepository.save(t);
+        return added.size();
+    }
+
+    private static List<LocalDateTime> generate(AvailabilityTemplate t,
+                                                LocalDate from,
+                                                LocalDate to,
+                                                LocalDateTime notBefore) {
+
+        int startMinute = t.getStartTime().toSecondOfDay() / 60;
+        int endMinute = t.getEndTime().toSecondOfDay() / 60;
+        int step = t.getIntervalMinutes();
+
+        List<LocalDateTime> slots = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+
+            if (!t.includes(day.getDayOfWeek()) || t.getExceptions().contains(day)) continue;
+
+            LocalDateTime midnight = day.atStartOfDay();
+            for (int m = startMinute; m + step <= endMinute; m += step) {
+                LocalDateTime slot = midnight.plusMinutes(m);
+                if (!slot.isBefore(notBefore)) {
+                    slots.add(slot);
+                }
+            }
+        }
+        return slots;
+    }
+
+    private Practitioner requireVerified(Long userId) {
+        Practitioner practitioner = practitionerRepository.findByUserId(userId);
+        if (practitioner == null || !practitioner.isVerified()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a verified practitioner");
+        }
+        return practitioner;
+    }
+}
@@ -1,41 +1,296 @@
 package com.wellness.wellness_backend.service;
 
+import com.wellness.wellness_backend.dto.BookingSlotRow;
+import com.wellness.wellness_backend.event.BookingChangedEvent;
 import com.wellness.wellness_backend.model.Booking;
+import com.wellness.wellness_backend.model.BookingStatus;
+import com.wellness.wellness_backend.model.OutboxEventType;
 import com.wellness.wellness_backend.repo.BookingRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Booking reminders, "lead-minutes" before the slot.
+ *
+ * Confirmed bookings sit in an in-memory hierarchical timing wheel, fed
+ * by BookingChangedEvent (confirm schedules, cancel / complete removes),
+ * so nothing is polled to find due reminders. A reminder fires on the
+ * wheel's tick. Delivery first claims the booking with a
+ * compare-and-set on reminder_sent_at, then enqueues the push to the
+ * user's STOMP /notifications queue through the outbox in the same
+ * transaction. Each booking is therefore reminded once, even with
+ * several instances or overlapping reconciliations.
+ *
+ * The wheel is loaded on startup. A periodic reconciliation then reads
+ * only unreminded confirmed bookings in the next few minutes, via
+ * idx_bookings_reminder, to pick up bookings confirmed on another
+ * instance or missed events.
+ */
 @Service
 public class BookingReminderService {
 
+    private static final int RECONCILE_LIMIT = 1000;
+    // upper bound for the startup load (MySQL DATETIME max)
+    private static final LocalDateTime NO_LIMIT = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final BookingRepository bookingRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate tx;
+
+    private final Duration lead;
+    private final Duration reconcileWindow;
+    private final TimingWheel wheel;
 
-    public BookingReminderService(BookingRepository bookingRepository) {
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public BookingReminderService(
+            BookingRepository bookingRepository,
+            OutboxService outboxService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.bookings.reminder.lead-minutes:30}") long leadMinutes,
+            @Value("${app.bookings.reminder.tick-ms:1000}") long tickMs,
+            @Value("${app.bookings.reminder.reconcile-ms:300000}") long reconcileMs
+    ) {
         this.bookingRepository = bookingRepository;
+        this.outboxService = outboxService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.lead = Duration.ofMinutes(leadMinutes);
+        // one extra interval so nothing falls between two runs
+        this.reconcileWindow = lead.plusMillis(2 * reconcileMs);
+        this.wheel = new TimingWheel(Math.max(tickMs, 1), System.currentTimeMillis());
+    }
+
+    // =========================
+    // LOADING THE WHEEL
+    // =========================
+    // keyset over slot; ties at a page edge are picked up by reconcile()
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime from = LocalDateTime.now();
+        while (true) {
+            List<BookingSlotRow> page = bookingRepository.findReminderCandidates(
+                    from, NO_LIMIT, PageRequest.of(0, RECONCILE_LIMIT));
+            page.forEach(row -> schedule(row.getBookingId(), row.getSlot()));
+            if (page.size() < RECONCILE_LIMIT) break;
+            from = page.get(page.size() - 1).getSlot();
+        }
     }
 
-    // Runs every 10 minutes
-    @Scheduled(cron = "0 */10 * * * *")
-    public void remindUpcomingBookings() {
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.getStatus() == BookingStatus.CONFIRMED) {
+            schedule(event.getBookingId(), event.getSlot());
+        } else {
+            wheel.cancel(event.getBookingId());
+        }
+    }
 
+    // cheap catch-up: unreminded confirmed bookings due soon
+    @Scheduled(fixedDelayString = "${app.bookings.reminder.reconcile-ms:300000}")
+    public void reconcile() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime in30Minutes = now.plusMinutes(30);
+        bookingRepository.findReminderCandidates(
+                        now, now.plus(reconcileWindow), PageRequest.of(0, RECONCILE_LIMIT))
+                .forEach(row -> schedule(row.getBookingId(), row.getSlot()));
+    }
 
-        List<Booking> bookings =
-                bookingRepository.findByStatusAndSlotBetween(
-                        "CONFIRMED",
-                        now,
-                        in30Minutes
-                );
+    private void schedule(Long bookingId, LocalDateTime slot) {
+        wheel.schedule(bookingId, toMillis(slot.minus(lead)));
+    }
 
-        for (Booking b : bookings) {
-            System.out.println(
-                "🔔 Reminder: Booking ID " + b.getId()
-                        + " at " + b.getSlot()
-            );
+    // =========================
+    // FIRING
+    // =========================
+    @Scheduled(fixedRateString = "${app.bookings.reminder.tick-ms:1000}")
+    public void tick() {
+        for (Long bookingId : wheel.advance(System.currentTimeMillis())) {
+            try {
+                deliver(bookingId);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                // retried by a later reconciliation (reminder_sent_at is still null)
+            }
         }
     }
+
+    private void deliver(Long bookingId) {
+        tx.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (bookingRepository.markReminderSent(bookingId, now) == 0) {
+                // cancelled, already reminded elsewhere, or already started
+                skipped.incrementAndGet();
+                return;
+            }
+
+            Booking b = bookingRepository.findById(bookingId).orElseThrow();
+            outboxService.enqueue(OutboxEventType.NOTIFICATION, b.getUserId(), Map.of(
+                    "type", "booking-reminder",
+                    "bookingId", b.getId(),
+                    "practitionerId", b.getPractitionerId(),
+                    "slot", b.getSlot().toString(),
+                    "message", "Reminder: your session starts at " + b.getSlot().toLocalTime()
+            ));
+            sent.incrementAndGet();
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("scheduled", wheel.size());
+        s.put("sent", sent.get());
+        s.put("skipped", skipped.get());
+        s.put("failed", failed.get());
+        return s;
+    }
+
+    private static long toMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // =========================
+    // HIERARCHICAL TIMING WHEEL
+    // =========================
+
+    /**
+     * LEVELS wheels of SIZE buckets; a bucket on level n spans
+     * tick * SIZE^n ms, so four levels of 64 cover ~194 days at a 1s tick
+     * (later deadlines sit in the top level's farthest bucket until they
+     * come into range). Schedule and cancel are O(1). Each tick empties
+     * one level-0 bucket, and when a level wraps, the next level's
+     * current bucket is cascaded down.
+     *
+     * Cancels are lazy: the entry map is the source of truth and bucket
+     * entries that are no longer in it are dropped when they come up.
+     */
+    private static final class TimingWheel {
+
+        private static final int SIZE = 64;
+        private static final int LEVELS = 4;
+
+        private final long tickMs;
+        private final List<ArrayDeque<Entry>> buckets = new ArrayList<>(SIZE * LEVELS);
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        // last tick processed
+        private long currentTick;
+
+        TimingWheel(long tickMs, long nowMs) {
+            this.tickMs = tickMs;
+            this.currentTick = nowMs / tickMs;
+            for (int i = 0; i < SIZE * LEVELS; i++) {
+                buckets.add(new ArrayDeque<>());
+            }
+        }
+
+        synchronized void schedule(Long id, long deadlineMs) {
+            Entry e = new Entry(id, deadlineMs / tickMs);
+            Entry old = entries.get(id);
+            if (old != null && old.deadlineTick == e.deadlineTick) {
+                return; // reconciliation re-adding what is already there
+            }
+            entries.put(id, e);
+            if (e.deadlineTick <= currentTick) {
+                // overdue (current tick already processed): fire on the next one
+                bucket(0, currentTick + 1).add(e);
+            } else {
+                place(e);
+            }
+        }
+
+        synchronized void cancel(Long id) {
+            entries.remove(id);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        // moves the wheel to nowMs and returns the ids that came due
+        synchronized List<Long> advance(long nowMs) {
+
+            List<Long> due = new ArrayList<>();
+            long target = nowMs / tickMs;
+
+            while (currentTick < target) {
+                currentTick++;
+
+                // cascade every level whose lower levels just wrapped
+                for (int level = 1; level < LEVELS && currentTick % span(level) == 0; level++) {
+                    ArrayDeque<Entry> bucket = bucket(level, currentTick);
+                    List<Entry> moving = new ArrayList<>(bucket);
+                    bucket.clear();
+                    for (Entry e : moving) {
+                        if (entries.get(e.id) == e) place(e);
+                    }
+                }
+
+                ArrayDeque<Entry> bucket = bucket(0, currentTick);
+                List<Entry> firing = new ArrayList<>(bucket);
+                bucket.clear();
+                for (Entry e : firing) {
+                    if (entries.get(e.id) != e) continue;
+                    if (e.deadlineTick <= currentTick) {
+                        entries.remove(e.id);
+                        due.add(e.id);
+                    } else {
+                        place(e);
+                    }
+                }
+            }
+            return due;
+        }
+
+        // lowest level whose range still reaches the deadline
+        private void place(Entry e) {
+            long delta = e.deadlineTick - currentTick;
+            if (delta <= 0) {
+                // only from a cascade: this tick's level-0 bucket runs next
+                bucket(0, currentTick).add(e);
+                return;
+            }
+            for (int level = 0; level < LEVELS; level++) {
+                if (delta < span(level + 1)) {
+                    bucket(level, e.deadlineTick).add(e);
+                    return;
+                }
+            }
+            // beyond the top level: park in its farthest bucket and re-place on cascade
+            bucket(LEVELS - 1, currentTick + span(LEVELS) - span(LEVELS - 1)).add(e);
+        }
+
+        private ArrayDeque<Entry> bucket(int level, long tick) {
+            int index = (int) ((tick / span(level)) % SIZE);
+            return buckets.get(level * SIZE + index);
+        }
+
+        // ticks covered by one bucket on this level
+        private static long span(int level) {
+            long s = 1;
+            for (int i = 0; i < level; i++) s *= SIZE;
+            return s;
+        }
+
+        private record Entry(Long id, long deadlineTick) {}
+    }
 }
@@ -1,14 +1,22 @@
 package com.wellness.wellness_backend.service;
 
+import com.wellness.wellness_backend.event.BookingChangedEvent;
 import com.wellness.wellness_backend.model.Booking;
+import com.wellness.wellness_backend.model.BookingStatus;
+import com.wellness.wellness_backend.model.OutboxEventType;
 import com.wellness.wellness_backend.model.Practitioner;
 import com.wellness.wellness_backend.repo.BookingRepository;
 import com.wellness.wellness_backend.repo.PractitionerRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service("bookingService")
 public class BookingService {
@@ -16,18 +24,25 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final PractitionerRepository practitionerRepository;
     private final PractitionerAvailabilityService availabilityService;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher events;
 
     public BookingService(BookingRepository bookingRepository,
                           PractitionerRepository practitionerRepository,
-                          PractitionerAvailabilityService availabilityService) {
+                          PractitionerAvailabilityService availabilityService,
+                          OutboxService outboxService,
+                          ApplicationEventPublisher events) {
         this.bookingRepository = bookingRepository;
         this.practitionerRepository = practitionerRepository;
         this.availabilityService = availabilityService;
+        this.outboxService = outboxService;
+        this.events = events;
     }
 
     // =========================
     // CREATE BOOKING
     // =========================
+    @Transactional
     public Booking createBooking(Long userId,
                                  Long practitionerId,
                                  LocalDateTime slot) {
@@ -46,9 +61,11 @@ public class BookingService {
         booking.setUserId(userId);
         booking.setPractitionerId(practitionerId);
         booking.setSlot(slot);
-        booking.setStatus("CREATED");
+        booking.setStatus(BookingStatus.CREATED);
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishBookingUpdate(saved);
+        return saved;
     }
 
     // =========================
@@ -84,40 +101,72 @@ public class BookingService {
 
     // =========================
     // STATUS TRANSITIONS
+    // each one is a single guarded UPDATE from the status just read (see
+    // BookingStatus), so of a concurrent confirm and cancel exactly one wins
     // =========================
+    @Transactional
     public void confirmBooking(Long bookingId) {
+        transition(bookingId, BookingStatus.CONFIRMED);
+    }
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-        if (!"CREATED".equals(booking.getStatus())) {
-            throw new RuntimeException("Only CREATED bookings can be confirmed");
-        }
+    @Transactional
+    public void completeBooking(Long bookingId) {
+        transition(bookingId, BookingStatus.COMPLETED);
+    }
 
-        booking.setStatus("CONFIRMED");
-        bookingRepository.save(booking);
+    // the slot goes back on offer in the same transaction
+    @Transactional
+    public Booking cancelBooking(Long bookingId) {
+        Booking booking = transition(bookingId, BookingStatus.CANCELLED);
+        availabilityService.releaseSlot(booking.getPractitionerId(), booking.getSlot());
+        return booking;
     }
 
-    public void completeBooking(Long bookingId) {
+    private Booking transition(Long bookingId, BookingStatus target) {
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        BookingStatus current = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Booking not found"
+                ))
+                .getStatus();
 
-        if (!"CONFIRMED".equals(booking.getStatus())) {
-            throw new RuntimeException("Only CONFIRMED bookings can be completed");
+        if (!current.canTransitionTo(target)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Booking cannot move from " + current + " to " + target
+            );
         }
 
-        booking.setStatus("COMPLETED");
-        bookingRepository.save(booking);
-    }
-
-    public Booking cancelBooking(Long bookingId) {
+        // compare-and-set on the status read above: of two requests that
+        // both saw it, only the first UPDATE matches. The other gets a 409
+        // even when its move would be legal from the new status (a cancel
+        // racing a confirm), so it never acts on a booking it hasn't seen
+        if (bookingRepository.transition(bookingId, current.name(), target.name()) == 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Booking " + bookingId + " changed status concurrently, reload and retry"
+            );
+        }
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
+        publishBookingUpdate(booking);
+        return booking;
+    }
 
-        booking.setStatus("CANCELLED");
-        return bookingRepository.save(booking);
+    // live update to the client, committed with the booking change;
+    // the event keeps the reminder wheel in step
+    private void publishBookingUpdate(Booking booking) {
+        events.publishEvent(new BookingChangedEvent(
+                booking.getId(), booking.getSlot(), booking.getStatus()));
+        outboxService.enqueue(OutboxEventType.BOOKING, booking.getUserId(), Map.of(
+                "type", "booking",
+                "bookingId", booking.getId(),
+                "practitionerId", booking.getPractitionerId(),
+                "slot", booking.getSlot().toString(),
+                "status", booking.getStatus().name()
+        ));
     }
 
 }
@@ -1,50 +1,70 @@
 package com.wellness.wellness_backend.service;
 
+import com.wellness.wellness_backend.dto.CartDTO;
+import com.wellness.wellness_backend.dto.CartLineRow;
+import com.wellness.wellness_backend.dto.CartOperation;
+import com.wellness.wellness_backend.mapper.CartMapper;
 import com.wellness.wellness_backend.model.Cart;
 import com.wellness.wellness_backend.model.CartItem;
-import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.model.id.SnowflakeIdGenerator;
+import com.wellness.wellness_backend.repo.CartItemJdbcRepository;
 import com.wellness.wellness_backend.repo.CartItemRepository;
 import com.wellness.wellness_backend.repo.CartRepository;
 import com.wellness.wellness_backend.repo.ProductRepository;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class CartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
     private final ProductRepository productRepository;
+    private final FlashSaleService flashSaleService;
 
     public CartService(
             CartRepository cartRepository,
             CartItemRepository cartItemRepository,
-            ProductRepository productRepository
+            CartItemJdbcRepository cartItemJdbcRepository,
+            ProductRepository productRepository,
+            FlashSaleService flashSaleService
     ) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
+        this.cartItemJdbcRepository = cartItemJdbcRepository;
         this.productRepository = productRepository;
+        this.flashSaleService = flashSaleService;
     }
 
     // =========================
-    // GET OR CREATE CART
+    // READ CART (single query, mapped straight to DTO)
     // =========================
-    public Cart getOrCreateCart(String userEmail) {
-        return cartRepository.findByUserEmail(userEmail)
-                .orElseGet(() -> {
-                    Cart cart = new Cart();
-                    cart.setUserEmail(userEmail);
-                    return cartRepository.save(cart);
-                });
+    public CartDTO getCart(String userEmail) {
+        List<CartLineRow> rows = cartRepository.findCartLines(normalizeEmail(userEmail));
+
+        // no cart row yet: nothing is created until the first write
+        if (rows.isEmpty()) {
+            return new CartDTO(null, normalizeEmail(userEmail), null, List.of());
+        }
+        return CartMapper.toDTO(rows);
     }
 
     // =========================
     // ADD ITEM TO CART
     // =========================
+    @Transactional
     public Cart addItem(String userEmail, Long productId, int quantity) {
 
         if (quantity <= 0) {
@@ -54,39 +74,42 @@ public class CartService {
             );
         }
 
-        // 🔥 FIX: Proper product lookup with 404
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResponseStatusException(
+        // flash sale: reject from memory before touching the database
+        if (flashSaleService.isSoldOut(productId)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Product " + productId + " is sold out"
+            );
+        }
+
+        String email = normalizeEmail(userEmail);
+
+        // insert-or-increment in one statement; the product price is read
+        // by the same statement, so a missing product simply inserts nothing
+        int rows = cartItemJdbcRepository.upsert(email, productId, quantity);
+
+        if (rows == 0) {
+            // first write for this user (no cart row yet) or unknown product
+            cartRepository.insertIfAbsent(SnowflakeIdGenerator.nextId(), email, LocalDateTime.now());
+            rows = cartItemJdbcRepository.upsert(email, productId, quantity);
+
+            if (rows == 0) {
+                throw new ResponseStatusException(
                         HttpStatus.NOT_FOUND,
                         "Product not found with id " + productId
-                ));
-
-        Cart cart = getOrCreateCart(userEmail);
-
-        // Check if product already in cart
-        Optional<CartItem> existingItemOpt =
-                cartItemRepository.findByCartIdAndProductId(cart.getId(), productId);
-
-        if (existingItemOpt.isPresent()) {
-            CartItem item = existingItemOpt.get();
-            item.setQuantity(item.getQuantity() + quantity);
-            cartItemRepository.save(item);
-        } else {
-            CartItem item = new CartItem();
-            item.setCart(cart);
-            item.setProduct(product);
-            item.setQuantity(quantity);
-            item.setPriceAtAddTime(product.getPrice());
-            cartItemRepository.save(item);
+                );
+            }
         }
 
-        return getOrCreateCart(userEmail);
+        return cartRepository.findWithItemsByUserEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cart not found"));
     }
 
     // =========================
     // UPDATE ITEM QUANTITY
     // =========================
-    public Cart updateItem(Long cartItemId, int quantity, String userEmail) {
+    @Transactional
+    public CartDTO updateItem(Long cartItemId, int quantity, String userEmail) {
 
         if (quantity <= 0) {
             throw new ResponseStatusException(
@@ -95,7 +118,7 @@ public class CartService {
             );
         }
 
-        Cart cart = getOrCreateCart(userEmail);
+        Cart cart = findCart(userEmail);
 
         CartItem item = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -110,15 +133,16 @@ public class CartService {
         item.setQuantity(quantity);
         cartItemRepository.save(item);
 
-        return cart;
+        return getCart(userEmail);
     }
 
     // =========================
     // REMOVE ITEM
     // =========================
-    public Cart removeItem(Long cartItemId, String userEmail) {
+    @Transactional
+    public CartDTO removeItem(Long cartItemId, String userEmail) {
 
-        Cart cart = getOrCreateCart(userEmail);
+        Cart cart = findCart(userEmail);
 
         CartItem item = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -131,14 +155,143 @@ public class CartService {
         }
 
         cartItemRepository.delete(item);
-        return cart;
+        return getCart(userEmail);
     }
 
     // =========================
     // CLEAR CART
     // =========================
+    @Transactional
     public void clearCart(String userEmail) {
-        Cart cart = getOrCreateCart(userEmail);
-        cartItemRepository.deleteAll(cart.getItems());
+        cartRepository.findByUserEmail(normalizeEmail(userEmail))
+                .ifPresent(cart -> cartItemRepository.deleteAll(cart.getItems()));
+    }
+
+    // =========================
+    // BATCH OF OPERATIONS (PATCH /api/cart)
+    // =========================
+
+    /**
+     * Applies a list of add/update/remove operations in one transaction.
+     *
+     * Operations are folded per product in request order into one net
+     * change (increment, set or delete), then written as at most three
+     * JDBC batches. If any operation is invalid or names an unknown
+     * product, nothing is applied.
+     */
+    @Transactional
+    public CartDTO applyBatch(String userEmail, List<CartOperation> operations) {
+
+        Map<Long, Integer> increments = new LinkedHashMap<>();
+        Map<Long, Integer> sets = new LinkedHashMap<>();
+        Set<Long> deletes = new LinkedHashSet<>();
+        Set<Long> added = new HashSet<>();
+
+        for (CartOperation op : operations) {
+            Long productId = op.getProductId();
+            int qty = op.getQuantity();
+
+            if (op.getType() != CartOperation.Type.REMOVE && qty <= 0) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Quantity must be greater than 0 for product " + productId
+                );
+            }
+
+            switch (op.getType()) {
+                case ADD -> {
+                    added.add(productId);
+                    if (sets.containsKey(productId)) {
+                        sets.merge(productId, qty, Integer::sum);
+                    } else if (deletes.remove(productId)) {
+                        // removed earlier in this batch: start from zero
+                        sets.put(productId, qty);
+                    } else {
+                        increments.merge(productId, qty, Integer::sum);
+                    }
+                }
+                case UPDATE -> {
+                    increments.remove(productId);
+                    deletes.remove(productId);
+                    sets.put(productId, qty);
+                }
+                case REMOVE -> {
+                    increments.remove(productId);
+                    sets.remove(productId);
+                    deletes.add(productId);
+                }
+            }
+        }
+
+        for (Long productId : added) {
+            if (flashSaleService.isSoldOut(productId)) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Product " + productId + " is sold out"
+                );
+            }
+        }
+
+        // one lookup for every product being written, so a bad id fails
+        // the whole batch instead of being skipped by the upsert
+        Set<Long> written = new HashSet<>(increments.keySet());
+        written.addAll(sets.keySet());
+        if (!written.isEmpty()) {
+            written.removeAll(productRepository.findExistingIds(written));
+            if (!written.isEmpty()) {
+                throw new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Product not found with id " + written.iterator().next()
+                );
+            }
+        }
+
+        String email = normalizeEmail(userEmail);
+
+        if (!increments.isEmpty() || !sets.isEmpty()) {
+            cartRepository.insertIfAbsent(SnowflakeIdGenerator.nextId(), email, LocalDateTime.now());
+        }
+        if (!deletes.isEmpty()) {
+            cartItemJdbcRepository.deleteAll(email, deletes);
+        }
+        if (!sets.isEmpty()) {
+            cartItemJdbcRepository.setAll(email, sets);
+        }
+        if (!increments.isEmpty()) {
+            cartItemJdbcRepository.upsertAll(email, increments);
+        }
+
+        return getCart(userEmail);
+    }
+
+    // =========================
+    // MERGE GUEST CART ON LOGIN
+    // =========================
+    @Transactional
+    public CartDTO mergeGuestCart(String userEmail, Map<Long, Integer> guestItems) {
+
+        if (!guestItems.isEmpty()) {
+            String email = normalizeEmail(userEmail);
+            cartRepository.insertIfAbsent(SnowflakeIdGenerator.nextId(), email, LocalDateTime.now());
+            // max, not sum: replaying the same guest token (retry, double
+            // submit) leaves the cart as it is. Unknown products insert
+            // nothing and are silently dropped.
+            cartItemJdbcRepository.maxAll(email, guestItems);
+        }
+
+        return getCart(userEmail);
+    }
+
+    private Cart findCart(String userEmail) {
+        return cartRepository.findByUserEmail(normalizeEmail(userEmail))
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Cart not found"
+                ));
+    }
+
+    // carts.user_email is stored normalized (see Cart.setUserEmail)
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase().trim();
     }
 }
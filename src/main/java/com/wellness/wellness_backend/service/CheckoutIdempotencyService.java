@@ -0,0 +1,210 @@
+package com.wellness.wellness_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wellness.wellness_backend.model.IdempotencyRecord;
+import com.wellness.wellness_backend.model.Order;
+import com.wellness.wellness_backend.repo.CartRepository;
+import com.wellness.wellness_backend.repo.IdempotencyRecordRepository;
+import com.wellness.wellness_backend.repo.OrderRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key handling for POST /api/orders/checkout.
+ *
+ * A key maps to the order it produced. Lookups go to an in-memory LRU
+ * first, then the idempotency_records table (which survives restarts
+ * and is shared between instances). A retry with a known key gets the
+ * stored order back without running checkout again.
+ *
+ * Duplicates arriving while the first request is still running wait on
+ * its result instead of starting a second checkout. Across instances
+ * the unique (user_email, idempotency_key) constraint decides the
+ * winner; the loser's transaction rolls back and it returns the
+ * winner's order.
+ *
+ * This is also where checkout waits for flash-sale admission, outside
+ * OrderService's transaction (see FlashSaleService.admit).
+ */
+@Service
+public class CheckoutIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final IdempotencyRecordRepository recordRepository;
+    private final CartRepository cartRepository;
+    private final FlashSaleService flashSaleService;
+
+    private final Duration ttl;
+    private final long waitTimeoutMs;
+
+    // "<email>\n<key>" -> order id
+    private final Cache<String, Long> recent;
+
+    private final Map<String, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+
+    public CheckoutIdempotencyService(
+            OrderService orderService,
+            OrderRepository orderRepository,
+            IdempotencyRecordRepository recordRepository,
+            CartRepository cartRepository,
+            FlashSaleService flashSaleService,
+            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${app.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs
+    ) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.recordRepository = recordRepository;
+        this.cartRepository = cartRepository;
+        this.flashSaleService = flashSaleService;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // =========================
+    // CHECKOUT WITH KEY
+    // =========================
+    public Order checkout(String userEmail, String idempotencyKey) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            try (FlashSaleService.Admission admission = admit(userEmail)) {
+                return orderService.checkout(userEmail, admission);
+            }
+        }
+
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters"
+            );
+        }
+
+        String cacheKey = userEmail + "\n" + key;
+
+        Long known = recent.getIfPresent(cacheKey);
+        if (known != null) {
+            return loadOrder(known);
+        }
+
+        CompletableFuture<Long> mine = new CompletableFuture<>();
+        CompletableFuture<Long> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return loadOrder(await(running));
+        }
+
+        try {
+            Long orderId = runOnce(userEmail, key);
+            recent.put(cacheKey, orderId);
+            mine.complete(orderId);
+            return loadOrder(orderId);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private Long runOnce(String userEmail, String key) {
+
+        Long stored = findStored(userEmail, key);
+        if (stored != null) {
+            return stored;
+        }
+
+        try (FlashSaleService.Admission admission = admit(userEmail)) {
+            return orderService.checkout(
+                    userEmail,
+                    key,
+                    LocalDateTime.now().plus(ttl),
+                    admission
+            ).getId();
+        } catch (DataIntegrityViolationException e) {
+            // another instance committed the same key first
+            stored = findStored(userEmail, key);
+            if (stored == null) {
+                throw e;
+            }
+            return stored;
+        }
+    }
+
+    // =========================
+    // FLASH-SALE ADMISSION
+    // =========================
+    // queued here, before the checkout transaction holds a connection
+    // or any product row lock; no cart read unless a sale is running
+    private FlashSaleService.Admission admit(String userEmail) {
+        Collection<Long> productIds = flashSaleService.anyActive()
+                ? cartRepository.findProductIdsByUserEmail(userEmail)
+                : List.of();
+        return flashSaleService.admit(productIds);
+    }
+
+    private Long findStored(String userEmail, String key) {
+        return recordRepository
+                .findByUserEmailAndIdempotencyKeyAndExpiresAtAfter(userEmail, key, LocalDateTime.now())
+                .map(IdempotencyRecord::getOrderId)
+                .orElse(null);
+    }
+
+    // duplicate request: share the first request's outcome, success or failure
+    private Long await(CompletableFuture<Long> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "A checkout with this Idempotency-Key is still in progress"
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private Order loadOrder(Long orderId) {
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+    }
+
+    // =========================
+    // EXPIRED KEYS
+    // =========================
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        recordRepository.deleteExpired(LocalDateTime.now());
+    }
+}
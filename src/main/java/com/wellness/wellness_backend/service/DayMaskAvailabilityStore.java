@@ -0,0 +1,199 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.repo.AvailabilityDayJdbcRepository;
+import com.wellness.wellness_backend.repo.AvailabilityDayJdbcRepository.DayMask;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * One practitioner_availability_days row per practitioner per day, with
+ * the day's 96 quarter-hour slots as two 48-bit words for "offered" and
+ * two for "booked". A quarter of availability is ~90 rows instead of
+ * thousands, reserving a slot is one bitwise conditional UPDATE, and a
+ * practitioner's calendar is decoded from a handful of rows.
+ *
+ * Only slots on a 15-minute boundary can be stored.
+ */
+@Component
+public class DayMaskAvailabilityStore implements AvailabilityStore {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int WORD_BITS = 48;
+
+    private final AvailabilityDayJdbcRepository days;
+
+    public DayMaskAvailabilityStore(AvailabilityDayJdbcRepository days) {
+        this.days = days;
+    }
+
+    @Override
+    public void add(Long practitionerId, LocalDateTime slot) {
+
+        int index = requireSlotIndex(slot);
+        if (exists(practitionerId, slot)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Slot already exists");
+        }
+
+        long[] offered = new long[2];
+        offered[index / WORD_BITS] = 1L << (index % WORD_BITS);
+        days.mergeAll(List.of(new DayMask(
+                practitionerId, slot.toLocalDate(), offered[0], offered[1], 0, 0)));
+    }
+
+    // requested bits per day, minus what the days already offer, written
+    // as one batched upsert per day
+    @Override
+    public List<LocalDateTime> addAll(Long practitionerId, List<LocalDateTime> slots) {
+
+        if (slots.isEmpty()) return List.of();
+
+        TreeMap<LocalDate, long[]> requested = new TreeMap<>();
+        for (LocalDateTime slot : slots) {
+            int index = requireSlotIndex(slot);
+            requested.computeIfAbsent(slot.toLocalDate(), d -> new long[2])
+                    [index / WORD_BITS] |= 1L << (index % WORD_BITS);
+        }
+
+        Map<LocalDate, DayMask> existing = new HashMap<>();
+        for (DayMask day : days.findRange(practitionerId, requested.firstKey(), requested.lastKey())) {
+            existing.put(day.day(), day);
+        }
+
+        List<DayMask> writes = new ArrayList<>();
+        List<LocalDateTime> added = new ArrayList<>();
+        requested.forEach((day, bits) -> {
+            DayMask current = existing.get(day);
+            long lo = bits[0] & ~(current == null ? 0 : current.offeredLo());
+            long hi = bits[1] & ~(current == null ? 0 : current.offeredHi());
+            if ((lo | hi) == 0) return;
+
+            writes.add(new DayMask(practitionerId, day, lo, hi, 0, 0));
+            LocalDateTime midnight = day.atStartOfDay();
+            decodeWord(midnight, 0, lo, added::add);
+            decodeWord(midnight, WORD_BITS, hi, added::add);
+        });
+
+        days.mergeAll(writes);
+        return added;
+    }
+
+    @Override
+    public boolean reserve(Long practitionerId, LocalDateTime slot) {
+        int index = slotIndex(slot);
+        return index >= 0 && days.reserve(
+                practitionerId, slot.toLocalDate(), index >= WORD_BITS, 1L << (index % WORD_BITS));
+    }
+
+    @Override
+    public boolean release(Long practitionerId, LocalDateTime slot) {
+        int index = slotIndex(slot);
+        return index >= 0 && days.release(
+                practitionerId, slot.toLocalDate(), index >= WORD_BITS, 1L << (index % WORD_BITS));
+    }
+
+    @Override
+    public boolean exists(Long practitionerId, LocalDateTime slot) {
+        int index = slotIndex(slot);
+        if (index < 0) return false;
+
+        DayMask day = days.find(practitionerId, slot.toLocalDate());
+        if (day == null) return false;
+
+        long word = index < WORD_BITS ? day.offeredLo() : day.offeredHi();
+        return (word & (1L << (index % WORD_BITS))) != 0;
+    }
+
+    @Override
+    public List<LocalDateTime> freeSlots(Long practitionerId) {
+        List<LocalDateTime> out = new ArrayList<>();
+        for (DayMask day : days.findByPractitioner(practitionerId)) {
+            decodeFree(day, out::add);
+        }
+        return out;
+    }
+
+    @Override
+    public void forEachFree(LocalDateTime from, BiConsumer<Long, LocalDateTime> action) {
+        days.forEachFrom(from.toLocalDate(), day -> decodeFree(day, slot -> {
+            if (!slot.isBefore(from)) {
+                action.accept(day.practitionerId(), slot);
+            }
+        }));
+    }
+
+    @Override
+    public int slotMinutes() {
+        return SLOT_MINUTES;
+    }
+
+    // =========================
+    // MIGRATION FROM ROWS
+    // =========================
+
+    /**
+     * Folds practitioner_availability into day masks with one
+     * INSERT ... SELECT. Bits are OR-ed into existing days, so the run
+     * can be repeated; do it before switching app.availability.storage.
+     */
+    public Map<String, Object> migrateFromRows() {
+        long offGrid = days.countOffGridRows();
+        int written = days.migrateFromRows();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        // MySQL counts 1 per inserted day and 2 per merged one
+        result.put("rowsAffected", written);
+        result.put("skippedOffGridSlots", offGrid);
+        return result;
+    }
+
+    // =========================
+    // MASK MATH
+    // =========================
+
+    private static int requireSlotIndex(LocalDateTime slot) {
+        int index = slotIndex(slot);
+        if (index < 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Slots must start on a " + SLOT_MINUTES + "-minute boundary"
+            );
+        }
+        return index;
+    }
+
+    // quarter-hour index within the day, or -1 when off the grid
+    static int slotIndex(LocalDateTime slot) {
+        if (slot.getMinute() % SLOT_MINUTES != 0 || slot.getSecond() != 0 || slot.getNano() != 0) {
+            return -1;
+        }
+        return (slot.getHour() * 60 + slot.getMinute()) / SLOT_MINUTES;
+    }
+
+    private static void decodeFree(DayMask day, Consumer<LocalDateTime> out) {
+        LocalDateTime midnight = day.day().atStartOfDay();
+        decodeWord(midnight, 0, day.offeredLo() & ~day.bookedLo(), out);
+        decodeWord(midnight, WORD_BITS, day.offeredHi() & ~day.bookedHi(), out);
+    }
+
+    private static void decodeWord(LocalDateTime midnight, int base, long bits,
+                                   Consumer<LocalDateTime> out) {
+        for (long b = bits; b != 0; b &= b - 1) {
+            int index = base + Long.numberOfTrailingZeros(b);
+            out.accept(midnight.plusMinutes((long) index * SLOT_MINUTES));
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.repo.ExportJdbcRepository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming admin exports (NDJSON or CSV).
+ *
+ * Rows go from the streaming JDBC cursor straight to the response, one
+ * at a time, so memory use does not depend on table size. Output is
+ * flushed every FLUSH_EVERY rows so the client starts receiving data
+ * right away.
+ */
+@Service
+public class ExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final List<String> PRODUCT_COLUMNS = List.of(
+            "id", "name", "description", "price", "stock", "category", "owner_email");
+    private static final List<String> USER_COLUMNS = List.of(
+            "id", "name", "email", "role");
+    private static final List<String> ORDER_COLUMNS = List.of(
+            "id", "user_email", "status", "total_amount", "created_at");
+    private static final List<String> ORDER_ITEM_COLUMNS = List.of(
+            "item_id", "product_id", "quantity", "price_at_purchase");
+
+    private final ExportJdbcRepository exportRepository;
+    private final JsonMapper jsonMapper;
+
+    public ExportService(ExportJdbcRepository exportRepository, JsonMapper jsonMapper) {
+        this.exportRepository = exportRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public static String normalizeFormat(String format) {
+        String f = format == null ? NDJSON : format.toLowerCase();
+        if (!f.equals(NDJSON) && !f.equals(CSV)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+        }
+        return f;
+    }
+
+    // =========================
+    // PRODUCTS / USERS (flat)
+    // =========================
+    public void exportProducts(String format, OutputStream out) {
+        exportFlat(format, PRODUCT_COLUMNS, out, exportRepository::streamProducts);
+    }
+
+    public void exportUsers(String format, OutputStream out) {
+        exportFlat(format, USER_COLUMNS, out, exportRepository::streamUsers);
+    }
+
+    private void exportFlat(String format,
+                            List<String> columns,
+                            OutputStream out,
+                            Consumer<RowCallbackHandler> query) {
+
+        RowSink sink = sink(format, out);
+        sink.header(columns);
+        query.accept(rs -> sink.row(read(rs, columns)));
+        sink.close();
+    }
+
+    // =========================
+    // ORDERS (with items)
+    // NDJSON: one object per order with an items array
+    // CSV: one line per item, order columns repeated
+    // =========================
+    public void exportOrders(String format, boolean includeArchived, OutputStream out) {
+
+        RowSink sink = sink(format, out);
+
+        List<String> csvColumns = new ArrayList<>(ORDER_COLUMNS);
+        csvColumns.addAll(ORDER_ITEM_COLUMNS);
+        sink.header(csvColumns);
+
+        OrderGrouper grouper = new OrderGrouper(sink, CSV.equals(format));
+        exportRepository.streamOrders(false, grouper::accept);
+        grouper.finish();
+
+        if (includeArchived) {
+            OrderGrouper archived = new OrderGrouper(sink, CSV.equals(format));
+            exportRepository.streamOrders(true, archived::accept);
+            archived.finish();
+        }
+
+        sink.close();
+    }
+
+    // folds consecutive rows of the same order into one record
+    private final class OrderGrouper {
+
+        private final RowSink sink;
+        private final boolean flat;
+
+        private Long currentId;
+        private Map<String, Object> current;
+        private List<Map<String, Object>> items;
+
+        OrderGrouper(RowSink sink, boolean flat) {
+            this.sink = sink;
+            this.flat = flat;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            Map<String, Object> order = read(rs, ORDER_COLUMNS);
+            Map<String, Object> item = rs.getObject("item_id") == null ? null : read(rs, ORDER_ITEM_COLUMNS);
+
+            if (flat) {
+                if (item != null) order.putAll(item);
+                sink.row(order);
+                return;
+            }
+
+            Long id = rs.getLong("id");
+            if (!id.equals(currentId)) {
+                finish();
+                currentId = id;
+                current = order;
+                items = new ArrayList<>();
+                current.put("items", items);
+            }
+            if (item != null) {
+                items.add(item);
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                sink.row(current);
+                current = null;
+                currentId = null;
+            }
+        }
+    }
+
+    // =========================
+    // OUTPUT
+    // =========================
+    private static Map<String, Object> read(ResultSet rs, List<String> columns) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : columns) {
+            Object value = rs.getObject(column);
+            if (value instanceof Timestamp ts) {
+                value = ts.toLocalDateTime().toString();
+            }
+            row.put(column, value);
+        }
+        return row;
+    }
+
+    private RowSink sink(String format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return CSV.equals(format) ? new CsvSink(writer) : new NdjsonSink(writer, jsonMapper);
+    }
+
+    private abstract static class RowSink {
+
+        protected final Writer writer;
+        private int rows;
+
+        RowSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        void header(List<String> columns) {}
+
+        abstract void write(Map<String, Object> row) throws IOException;
+
+        void row(Map<String, Object> row) {
+            try {
+                write(row);
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                // client went away: abort the query
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class NdjsonSink extends RowSink {
+
+        private final JsonMapper jsonMapper;
+
+        NdjsonSink(Writer writer, JsonMapper jsonMapper) {
+            super(writer);
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        void write(Map<String, Object> row) throws IOException {
+            writer.write(jsonMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvSink extends RowSink {
+
+        private List<String> columns;
+
+        CsvSink(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void header(List<String> columns) {
+            this.columns = columns;
+            try {
+                writer.write(String.join(",", columns));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void write(Map<String, Object> row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) writer.write(',');
+                Object value = row.get(columns.get(i));
+                if (value != null) writer.write(escape(value.toString()));
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180 quoting
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
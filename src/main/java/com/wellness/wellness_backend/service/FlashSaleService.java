@@ -0,0 +1,487 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.event.ProductStockChangedEvent;
+import com.wellness.wellness_backend.exception.InsufficientStockException;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Opt-in flash-sale mode for a single hot product.
+ *
+ * While a sale is active the product's stock lives in striped in-memory
+ * counters instead of the products row, and checkouts for it pass
+ * through a bounded admission queue. Units sold are written back to
+ * Product.stock in one UPDATE per flush interval, so the row sees a few
+ * writes per second instead of one per checkout.
+ *
+ * Buyers queue for admission before the checkout transaction starts
+ * (admit), so a waiting buyer holds no pooled connection and no product
+ * row lock. Inside the transaction only the in-memory stock is taken.
+ *
+ * Starting a sale sets products.flash_sale in the same UPDATE that locks
+ * the row, and only then reads the stock. Database-path decrements that
+ * already ran are committed by then; later ones skip flagged rows
+ * (ProductRepository.decrementStock), so the database path and the sale
+ * never sell the same units.
+ *
+ * An ended sale stays in "closing" until its in-flight checkouts have
+ * finished and every sold unit is written back; the flag is cleared
+ * only then. Until that point the product can't be checked out through
+ * the database path or put on sale again. A product left flagged by a
+ * crash is recovered by starting and ending its sale.
+ *
+ * Stock and permits are per JVM, so flash sales are only safe with a
+ * single application instance: a second one would sell the same units
+ * from its own counters.
+ */
+@Service
+public class FlashSaleService {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+
+    private final int defaultShards;
+    private final int defaultConcurrency;
+    private final int defaultQueueCapacity;
+    private final long admissionTimeoutMs;
+
+    private final Map<Long, FlashSale> sales = new ConcurrentHashMap<>();
+
+    // ended sales that still have in-flight checkouts or unflushed units
+    private final Map<Long, FlashSale> closing = new ConcurrentHashMap<>();
+
+    public FlashSaleService(
+            ProductRepository productRepository,
+            ApplicationEventPublisher events,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.flash-sale.shards:16}") int defaultShards,
+            @Value("${app.flash-sale.concurrency:32}") int defaultConcurrency,
+            @Value("${app.flash-sale.queue-capacity:1000}") int defaultQueueCapacity,
+            @Value("${app.flash-sale.admission-timeout-ms:2000}") long admissionTimeoutMs
+    ) {
+        this.productRepository = productRepository;
+        this.events = events;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.defaultShards = defaultShards;
+        this.defaultConcurrency = defaultConcurrency;
+        this.defaultQueueCapacity = defaultQueueCapacity;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+    }
+
+    // =========================
+    // ADMIN: START / END
+    // =========================
+    // start, end and flush are synchronized: a sale is only started once
+    // the previous one for the product has been written back
+    public synchronized Map<String, Object> start(Long productId,
+                                                  Integer shards,
+                                                  Integer concurrency,
+                                                  Integer queueCapacity) {
+
+        if (sales.containsKey(productId)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Flash sale already running for product " + productId
+            );
+        }
+        if (closing.containsKey(productId)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Previous flash sale for product " + productId + " is still being written back"
+            );
+        }
+
+        // flag first (waits for uncommitted database-path decrements),
+        // then read: no other checkout can take this stock any more
+        Integer stock = tx.execute(status -> productRepository.setFlashSale(productId, true) == 0
+                ? null
+                : productRepository.findStockById(productId));
+        if (stock == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND,
+                    "Product not found with id " + productId
+            );
+        }
+
+        FlashSale sale = new FlashSale(
+                productId,
+                stock,
+                shards != null ? shards : defaultShards,
+                concurrency != null ? concurrency : defaultConcurrency,
+                queueCapacity != null ? queueCapacity : defaultQueueCapacity
+        );
+
+        sales.put(productId, sale);
+        return sale.status();
+    }
+
+    public synchronized Map<String, Object> end(Long productId) {
+
+        FlashSale sale = sales.get(productId);
+        if (sale == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND,
+                    "No flash sale running for product " + productId
+            );
+        }
+
+        // into closing before leaving sales, so a checkout always finds
+        // the sale in one of the two and never falls back to the DB path
+        closing.put(productId, sale);
+        sales.remove(productId);
+        sale.closed = true;
+
+        flush();
+        return sale.status();
+    }
+
+    public List<Map<String, Object>> status() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (FlashSale sale : sales.values()) {
+            result.add(sale.status());
+        }
+        for (FlashSale sale : closing.values()) {
+            result.add(sale.status());
+        }
+        return result;
+    }
+
+    public boolean isActive(Long productId) {
+        return sales.containsKey(productId);
+    }
+
+    public boolean isSoldOut(Long productId) {
+        FlashSale sale = sales.get(productId);
+        return sale != null && sale.stock.remaining() <= 0;
+    }
+
+    public boolean anyActive() {
+        return !sales.isEmpty() || !closing.isEmpty();
+    }
+
+    // =========================
+    // CHECKOUT
+    // =========================
+
+    /**
+     * Takes an admission permit for every product on flash sale among
+     * productIds, waiting in each sale's bounded queue if needed. Call it
+     * before the checkout transaction starts and close the result once
+     * checkout has returned; permits reserve() did not hand over to the
+     * transaction are released on close.
+     */
+    public Admission admit(Collection<Long> productIds) {
+
+        Admission admission = new Admission();
+        try {
+            // fixed order, so two buyers never wait on each other's permits
+            for (Long productId : new TreeSet<>(productIds)) {
+                requireNotClosing(productId);
+                FlashSale sale = sales.get(productId);
+                if (sale != null && !admission.held.containsKey(productId)) {
+                    sale.admit(admissionTimeoutMs);
+                    admission.held.put(productId, sale);
+                }
+            }
+        } catch (RuntimeException e) {
+            admission.close();
+            throw e;
+        }
+        return admission;
+    }
+
+    /**
+     * Takes qty units from the in-memory counters for the current
+     * transaction. Returns false when the product is not on flash sale
+     * (caller falls back to the database path).
+     *
+     * Uses the permit from admit(); if the sale started after the buyer
+     * was admitted, a free permit is taken without waiting, so nothing
+     * ever queues inside the transaction. The permit is held until the
+     * transaction completes; on rollback the units go back to the
+     * counters, on commit they are queued for the next write-back.
+     */
+    public boolean reserve(Admission admission, Long productId, String productName, int qty) {
+
+        FlashSale held = admission.held.remove(productId);
+        FlashSale sale = held != null ? held : sales.get(productId);
+        if (sale == null) {
+            // products.stock is behind until the ended sale is written back
+            requireNotClosing(productId);
+            return false;
+        }
+        if (held == null) {
+            sale.tryAdmit();
+        }
+
+        if (!sale.stock.take(qty)) {
+            sale.leave();
+            throw new InsufficientStockException(productId, productName);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sale.sold(qty);
+            sale.leave();
+            return true;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    sale.sold(qty);
+                } else {
+                    sale.stock.giveBack(qty);
+                }
+                sale.leave();
+            }
+        });
+        return true;
+    }
+
+    private void requireNotClosing(Long productId) {
+        if (closing.containsKey(productId)) {
+            throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Flash sale for product " + productId + " is ending, retry shortly"
+            );
+        }
+    }
+
+    // =========================
+    // WRITE-BACK
+    // =========================
+    @Scheduled(fixedDelayString = "${app.flash-sale.flush-ms:1000}")
+    public synchronized void flush() {
+
+        for (FlashSale sale : sales.values()) {
+            writeBack(sale);
+        }
+
+        for (FlashSale sale : closing.values()) {
+            writeBack(sale);
+            // a buyer counts itself in flight before checking closed, and
+            // sold() runs before leave(): once nothing is in flight, every
+            // unit this sale will ever sell is in pendingSold
+            if (sale.inFlight.get() == 0 && sale.pendingSold.get() == 0 && handBack(sale)) {
+                closing.remove(sale.productId, sale);
+            }
+        }
+    }
+
+    // database path takes over again; retried on the next flush if it fails
+    private boolean handBack(FlashSale sale) {
+        try {
+            tx.executeWithoutResult(status -> productRepository.setFlashSale(sale.productId, false));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void writeBack(FlashSale sale) {
+
+        int units = sale.pendingSold.getAndSet(0);
+        if (units == 0) return;
+
+        try {
+            tx.executeWithoutResult(status -> {
+                productRepository.consumeStock(sale.productId, units);
+                events.publishEvent(new ProductStockChangedEvent(sale.productId, -units));
+            });
+        } catch (RuntimeException e) {
+            // retry on the next flush
+            sale.pendingSold.addAndGet(units);
+        }
+    }
+
+    // =========================
+    // ONE RUNNING SALE
+    // =========================
+    private static final class FlashSale {
+
+        final Long productId;
+        final StripedStock stock;
+        final Semaphore permits;
+        final int queueCapacity;
+
+        // set by end(); no new buyer is admitted afterwards
+        volatile boolean closed;
+
+        final AtomicInteger waiting = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger pendingSold = new AtomicInteger();
+        final AtomicInteger totalSold = new AtomicInteger();
+
+        FlashSale(Long productId, int stock, int shards, int concurrency, int queueCapacity) {
+            this.productId = productId;
+            this.stock = new StripedStock(Math.max(shards, 1), stock);
+            this.permits = new Semaphore(Math.max(concurrency, 1));
+            this.queueCapacity = queueCapacity;
+        }
+
+        // bounded queue: at most queueCapacity callers wait for a permit
+        void admit(long timeoutMs) {
+            if (waiting.incrementAndGet() > queueCapacity) {
+                waiting.decrementAndGet();
+                throw new ResponseStatusException(
+                        HttpStatus.TOO_MANY_REQUESTS, "Flash sale queue is full, retry shortly");
+            }
+            try {
+                if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw busy();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            enter();
+        }
+
+        // no waiting: used inside a transaction
+        void tryAdmit() {
+            if (!permits.tryAcquire()) {
+                throw busy();
+            }
+            enter();
+        }
+
+        // counted in flight before checking closed, so flush() can't
+        // retire the sale between the check and the stock take
+        private void enter() {
+            inFlight.incrementAndGet();
+            if (closed) {
+                leave();
+                throw new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Flash sale for product " + productId + " has ended, retry shortly"
+                );
+            }
+        }
+
+        void leave() {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+
+        void sold(int qty) {
+            pendingSold.addAndGet(qty);
+            totalSold.addAndGet(qty);
+        }
+
+        Map<String, Object> status() {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("productId", productId);
+            s.put("state", closed ? "closing" : "running");
+            s.put("remaining", stock.remaining());
+            s.put("sold", totalSold.get());
+            s.put("pendingWriteBack", pendingSold.get());
+            s.put("inFlight", inFlight.get());
+            s.put("waiting", waiting.get());
+            return s;
+        }
+    }
+
+    /**
+     * Admission permits taken by one checkout before its transaction
+     * (see admit); reserve() hands each one over to the transaction.
+     */
+    public static final class Admission implements AutoCloseable {
+
+        // productId -> sale whose permit is still held here
+        private final Map<Long, FlashSale> held = new HashMap<>();
+
+        private Admission() {}
+
+        @Override
+        public void close() {
+            held.values().forEach(FlashSale::leave);
+            held.clear();
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(
+                HttpStatus.TOO_MANY_REQUESTS, "Flash sale is busy, retry shortly");
+    }
+
+    /**
+     * Stock split across shards so concurrent buyers CAS different
+     * counters. Shards are spaced 16 ints apart to keep each one on its
+     * own cache line. Package-private for StripedStockTest.
+     */
+    static final class StripedStock {
+
+        private static final int STRIDE = 16;
+
+        private final int shards;
+        private final AtomicIntegerArray counters;
+
+        StripedStock(int shards, int stock) {
+            this.shards = shards;
+            this.counters = new AtomicIntegerArray(shards * STRIDE);
+            for (int i = 0; i < shards; i++) {
+                counters.set(i * STRIDE, stock / shards + (i < stock % shards ? 1 : 0));
+            }
+        }
+
+        // takes qty units, possibly from several shards; all-or-nothing
+        boolean take(int qty) {
+            int start = ThreadLocalRandom.current().nextInt(shards);
+            int needed = qty;
+
+            for (int i = 0; i < shards && needed > 0; i++) {
+                int idx = ((start + i) % shards) * STRIDE;
+                while (needed > 0) {
+                    int current = counters.get(idx);
+                    if (current == 0) break;
+                    int taken = Math.min(current, needed);
+                    if (counters.compareAndSet(idx, current, current - taken)) {
+                        needed -= taken;
+                    }
+                }
+            }
+
+            if (needed > 0) {
+                giveBack(qty - needed);
+                return false;
+            }
+            return true;
+        }
+
+        void giveBack(int qty) {
+            if (qty <= 0) return;
+            int idx = ThreadLocalRandom.current().nextInt(shards) * STRIDE;
+            counters.addAndGet(idx, qty);
+        }
+
+        int remaining() {
+            int sum = 0;
+            for (int i = 0; i < shards; i++) {
+                sum += counters.get(i * STRIDE);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.dto.CartDTO;
+import com.wellness.wellness_backend.dto.CartItemDTO;
+import com.wellness.wellness_backend.dto.ProductDTO;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.security.JwtUtil;
+
+import io.jsonwebtoken.JwtException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carts for anonymous visitors.
+ *
+ * The cart lives entirely in a signed token held by the client
+ * (productId:qty pairs, signed with the JWT key), so browsing and
+ * editing a guest cart writes nothing to the database. Products are
+ * resolved through the product cache. On login the client hands the
+ * token to CartService.mergeGuestCart.
+ */
+@Service
+public class GuestCartService {
+
+    // keeps the token small enough for a header
+    public static final int MAX_LINES = 50;
+
+    private final JwtUtil jwtUtil;
+    private final ProductService productService;
+    private final FlashSaleService flashSaleService;
+
+    public GuestCartService(JwtUtil jwtUtil,
+                            ProductService productService,
+                            FlashSaleService flashSaleService) {
+        this.jwtUtil = jwtUtil;
+        this.productService = productService;
+        this.flashSaleService = flashSaleService;
+    }
+
+    // =========================
+    // TOKEN <-> ITEMS
+    // =========================
+    public Map<Long, Integer> readItems(String token) {
+        if (token == null || token.isBlank()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            return jwtUtil.parseGuestCartToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid guest cart token"
+            );
+        }
+    }
+
+    public String writeItems(Map<Long, Integer> items) {
+        return jwtUtil.generateGuestCartToken(items);
+    }
+
+    // =========================
+    // MUTATIONS (return the new item map)
+    // =========================
+    public Map<Long, Integer> addItem(String token, Long productId, int quantity) {
+
+        if (quantity <= 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Quantity must be greater than 0"
+            );
+        }
+
+        if (flashSaleService.isSoldOut(productId)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Product " + productId + " is sold out"
+            );
+        }
+
+        productService.findById(productId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Product not found with id " + productId
+                ));
+
+        Map<Long, Integer> items = readItems(token);
+        if (!items.containsKey(productId) && items.size() >= MAX_LINES) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Guest cart is limited to " + MAX_LINES + " products"
+            );
+        }
+
+        items.merge(productId, quantity, Integer::sum);
+        return items;
+    }
+
+    public Map<Long, Integer> updateItem(String token, Long productId, int quantity) {
+
+        if (quantity <= 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Quantity must be greater than 0"
+            );
+        }
+
+        Map<Long, Integer> items = readItems(token);
+        if (!items.containsKey(productId)) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND,
+                    "Cart item not found"
+            );
+        }
+
+        items.put(productId, quantity);
+        return items;
+    }
+
+    public Map<Long, Integer> removeItem(String token, Long productId) {
+        Map<Long, Integer> items = readItems(token);
+        items.remove(productId);
+        return items;
+    }
+
+    // =========================
+    // VIEW
+    // =========================
+    public CartDTO toDTO(Map<Long, Integer> items) {
+
+        List<CartItemDTO> lines = new ArrayList<>(items.size());
+
+        items.forEach((productId, qty) ->
+                productService.findById(productId).ifPresent(p -> lines.add(toLine(p, qty))));
+
+        return new CartDTO(null, null, null, lines);
+    }
+
+    private static CartItemDTO toLine(Product p, int qty) {
+        return new CartItemDTO(
+                null,
+                new ProductDTO(p.getId(), p.getName(), p.getPrice()),
+                qty,
+                p.getPrice()
+        );
+    }
+}
@@ -1,22 +1,30 @@
 package com.wellness.wellness_backend.service;
 
 import com.wellness.wellness_backend.model.Notification;
+import com.wellness.wellness_backend.model.OutboxEventType;
 import com.wellness.wellness_backend.model.User;
 import com.wellness.wellness_backend.repo.NotificationRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final OutboxService outboxService;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               OutboxService outboxService) {
         this.notificationRepository = notificationRepository;
+        this.outboxService = outboxService;
     }
 
+    // stored and pushed (via the outbox) in one transaction
+    @Transactional
     public void createNotification(User user, String message) {
 
         Notification n = new Notification();
@@ -26,6 +34,13 @@ public class NotificationService {
         n.setCreatedAt(LocalDateTime.now());
 
         notificationRepository.save(n);
+
+        outboxService.enqueue(OutboxEventType.NOTIFICATION, user.getId(), Map.of(
+                "type", "notification",
+                "notificationId", n.getId(),
+                "message", n.getMessage(),
+                "createdAt", n.getCreatedAt().toString()
+        ));
     }
 
     public List<Notification> getUserNotifications(Long userId) {
@@ -0,0 +1,109 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.repo.OrderArchiveJdbcRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hot/cold split for orders.
+ *
+ * Closed orders (DELIVERED or CANCELLED) older than after-months are
+ * moved in chunks from orders / order_items to the archive tables, so
+ * the hot tables only hold recent and still-open orders.
+ *
+ * Only orders created before now - after-months are ever archived, so
+ * that time is a safe horizon for readers: history pages that stay
+ * newer than it never touch the archive (see OrderService).
+ */
+@Service
+public class OrderArchiveService {
+
+    private final OrderArchiveJdbcRepository archiveRepository;
+    private final TransactionTemplate tx;
+
+    private final int afterMonths;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrderArchiveService(
+            OrderArchiveJdbcRepository archiveRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.orders.archive.after-months:12}") int afterMonths,
+            @Value("${app.orders.archive.chunk-size:1000}") int chunkSize
+    ) {
+        this.archiveRepository = archiveRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.afterMonths = Math.max(afterMonths, 1);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    // after Hibernate has created / updated the hot tables
+    @EventListener(ApplicationReadyEvent.class)
+    public void createArchiveTables() {
+        archiveRepository.ensureTables();
+    }
+
+    // orders created at or after this are always in the hot tables
+    public LocalDateTime horizon() {
+        return LocalDateTime.now().minusMonths(afterMonths);
+    }
+
+    @Scheduled(cron = "${app.orders.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (running.get()) return;
+        archive();
+    }
+
+    public Map<String, Object> archive() {
+
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Archive job already running");
+        }
+
+        long started = System.currentTimeMillis();
+        LocalDateTime cutoff = horizon();
+        int archived = 0;
+        int chunks = 0;
+
+        try {
+            while (true) {
+                Integer moved = tx.execute(status -> {
+                    List<Long> ids = archiveRepository.lockClosedBefore(cutoff, chunkSize);
+                    if (!ids.isEmpty()) {
+                        archiveRepository.moveToArchive(ids);
+                    }
+                    return ids.size();
+                });
+
+                if (moved == null || moved == 0) break;
+                archived += moved;
+                chunks++;
+                if (moved < chunkSize) break;
+            }
+        } finally {
+            running.set(false);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cutoff", cutoff.toString());
+        result.put("archived", archived);
+        result.put("chunks", chunks);
+        result.put("millis", System.currentTimeMillis() - started);
+        return result;
+    }
+}
@@ -0,0 +1,202 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.dto.BulkOrderStatusRequest;
+import com.wellness.wellness_backend.dto.BulkOrderStatusResult;
+import com.wellness.wellness_backend.dto.OrderStatusOutcome;
+import com.wellness.wellness_backend.dto.OrderStatusOutcome.Result;
+import com.wellness.wellness_backend.model.OrderStatus;
+import com.wellness.wellness_backend.model.User;
+import com.wellness.wellness_backend.repo.OrderJdbcRepository;
+import com.wellness.wellness_backend.repo.OrderJdbcRepository.OrderStatusRow;
+import com.wellness.wellness_backend.repo.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Admin bulk status changes (e.g. the nightly "mark shipped" run).
+ *
+ * Orders are handled in chunks, each in its own transaction: lock the
+ * chunk's rows, classify every order against the OrderStatus transition
+ * table, then move all valid ones with a single guarded UPDATE. Sales
+ * rollups and outbox events for the chunk commit with it.
+ *
+ * A failure (deadlock, lock wait timeout, ...) only rolls back its own
+ * chunk; earlier chunks stay applied and the response still lists them.
+ * By id, the failed chunk's orders come back as FAILED and the next
+ * chunk goes on. By filter, the run stops there and is reported as not
+ * complete, since the page cursor can't move past a chunk that was
+ * never read. Either way, running the same request again picks up
+ * what's left.
+ */
+@Service
+public class OrderBulkStatusService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBulkStatusService.class);
+
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final UserRepository userRepository;
+    private final SalesRollupService salesRollupService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate tx;
+
+    private final int chunkSize;
+
+    public OrderBulkStatusService(
+            OrderJdbcRepository orderJdbcRepository,
+            UserRepository userRepository,
+            SalesRollupService salesRollupService,
+            OutboxService outboxService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.orders.bulk-chunk-size:500}") int chunkSize
+    ) {
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.userRepository = userRepository;
+        this.salesRollupService = salesRollupService;
+        this.outboxService = outboxService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    public BulkOrderStatusResult apply(BulkOrderStatusRequest req) {
+
+        boolean byIds = req.getOrderIds() != null && !req.getOrderIds().isEmpty();
+        boolean byFilter = req.getFromStatus() != null;
+
+        if (byIds == byFilter) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Provide either orderIds or fromStatus (with optional createdFrom/createdTo)"
+            );
+        }
+
+        OrderStatus target = req.getTarget();
+        List<OrderStatusOutcome> outcomes = new ArrayList<>();
+        boolean complete = true;
+        String error = null;
+
+        if (byIds) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(req.getOrderIds()));
+            for (int i = 0; i < ids.size(); i += chunkSize) {
+                List<Long> chunk = ids.subList(i, Math.min(i + chunkSize, ids.size()));
+                try {
+                    outcomes.addAll(tx.execute(s -> applyChunk(chunk, orderJdbcRepository.lockByIds(chunk), target)));
+                } catch (RuntimeException e) {
+                    log.warn("Bulk status change to {} failed for a chunk of {} orders", target, chunk.size(), e);
+                    if (error == null) error = e.getMessage();
+                    for (Long id : chunk) {
+                        outcomes.add(new OrderStatusOutcome(id, Result.FAILED, null));
+                    }
+                }
+            }
+        } else {
+            if (!req.getFromStatus().canTransitionTo(target)) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Orders cannot move from " + req.getFromStatus() + " to " + target
+                );
+            }
+
+            // keyset cursor: the last row of the previous page
+            OrderStatusRow after = null;
+            while (true) {
+                OrderStatusRow cursor = after;
+                Page page;
+                try {
+                    page = tx.execute(s -> {
+                        List<OrderStatusRow> rows = orderJdbcRepository.lockPageByFilter(
+                                req.getFromStatus(), req.getCreatedFrom(), req.getCreatedTo(),
+                                cursor == null ? null : cursor.createdAt(),
+                                cursor == null ? 0 : cursor.id(),
+                                chunkSize);
+                        return new Page(
+                                applyChunk(rows.stream().map(OrderStatusRow::id).toList(), rows, target),
+                                rows.isEmpty() ? null : rows.get(rows.size() - 1));
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Bulk status change {} -> {} failed after order {}",
+                            req.getFromStatus(), target, cursor == null ? null : cursor.id(), e);
+                    complete = false;
+                    error = e.getMessage();
+                    break;
+                }
+
+                if (page.last() == null) break;
+                outcomes.addAll(page.outcomes());
+                after = page.last();
+                if (page.outcomes().size() < chunkSize) break;
+            }
+        }
+
+        return new BulkOrderStatusResult(target, outcomes, complete, error);
+    }
+
+    private record Page(List<OrderStatusOutcome> outcomes, OrderStatusRow last) {}
+
+    // runs inside the chunk's transaction, rows already locked
+    private List<OrderStatusOutcome> applyChunk(List<Long> requested,
+                                                List<OrderStatusRow> rows,
+                                                OrderStatus target) {
+
+        Map<Long, OrderStatusRow> found = new HashMap<>();
+        for (OrderStatusRow row : rows) {
+            found.put(row.id(), row);
+        }
+
+        List<OrderStatusOutcome> outcomes = new ArrayList<>(requested.size());
+        Map<Long, OrderStatus> moving = new LinkedHashMap<>();
+
+        for (Long id : requested) {
+            OrderStatusRow row = found.get(id);
+            if (row == null) {
+                outcomes.add(new OrderStatusOutcome(id, Result.NOT_FOUND, null));
+            } else if (row.status() == target) {
+                outcomes.add(new OrderStatusOutcome(id, Result.UNCHANGED, row.status()));
+            } else if (!row.status().canTransitionTo(target)) {
+                outcomes.add(new OrderStatusOutcome(id, Result.INVALID_TRANSITION, row.status()));
+            } else {
+                outcomes.add(new OrderStatusOutcome(id, Result.UPDATED, row.status()));
+                moving.put(id, row.status());
+            }
+        }
+
+        if (moving.isEmpty()) {
+            return outcomes;
+        }
+
+        orderJdbcRepository.updateStatus(moving.keySet(), target, OrderStatus.sourcesOf(target));
+        salesRollupService.recordStatusChanges(moving, target);
+        publishUpdates(moving.keySet(), found, target);
+
+        return outcomes;
+    }
+
+    private void publishUpdates(Collection<Long> ids, Map<Long, OrderStatusRow> rows, OrderStatus target) {
+
+        Set<String> emails = new HashSet<>();
+        for (Long id : ids) {
+            emails.add(rows.get(id).userEmail());
+        }
+
+        Map<String, Long> userIds = new HashMap<>();
+        for (User user : userRepository.findByEmailIn(emails)) {
+            userIds.put(user.getEmail(), user.getId());
+        }
+
+        for (Long id : ids) {
+            OrderStatusRow row = rows.get(id);
+            Long userId = userIds.get(row.userEmail());
+            if (userId != null) {
+                outboxService.enqueueOrderUpdate(userId, id, target, row.totalAmount());
+            }
+        }
+    }
+}
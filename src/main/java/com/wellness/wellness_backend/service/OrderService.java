@@ -1,40 +1,131 @@
 package com.wellness.wellness_backend.service;
 
+import com.wellness.wellness_backend.dto.CursorPage;
+import com.wellness.wellness_backend.dto.OrderHeaderRow;
+import com.wellness.wellness_backend.dto.OrderLineRow;
+import com.wellness.wellness_backend.dto.OrderSummaryDTO;
+import com.wellness.wellness_backend.event.ProductStockChangedEvent;
+import com.wellness.wellness_backend.exception.InsufficientStockException;
+import com.wellness.wellness_backend.mapper.OrderMapper;
 import com.wellness.wellness_backend.model.*;
 import com.wellness.wellness_backend.repo.CartRepository;
+import com.wellness.wellness_backend.repo.IdempotencyRecordRepository;
+import com.wellness.wellness_backend.repo.OrderArchiveJdbcRepository;
+import com.wellness.wellness_backend.repo.OrderItemRepository;
 import com.wellness.wellness_backend.repo.OrderRepository;
-import jakarta.transaction.Transactional;
+import com.wellness.wellness_backend.repo.ProductRepository;
+import com.wellness.wellness_backend.repo.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class OrderService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final CartRepository cartRepository;
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderArchiveJdbcRepository orderArchiveRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final ProductRepository productRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final UserRepository userRepository;
+    private final FlashSaleService flashSaleService;
+    private final OutboxService outboxService;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher events;
 
     public OrderService(
             CartRepository cartRepository,
-            OrderRepository orderRepository
+            OrderRepository orderRepository,
+            OrderItemRepository orderItemRepository,
+            OrderArchiveJdbcRepository orderArchiveRepository,
+            OrderArchiveService orderArchiveService,
+            ProductRepository productRepository,
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            UserRepository userRepository,
+            FlashSaleService flashSaleService,
+            OutboxService outboxService,
+            SalesRollupService salesRollupService,
+            ApplicationEventPublisher events
     ) {
         this.cartRepository = cartRepository;
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.orderArchiveService = orderArchiveService;
+        this.productRepository = productRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.userRepository = userRepository;
+        this.flashSaleService = flashSaleService;
+        this.outboxService = outboxService;
+        this.salesRollupService = salesRollupService;
+        this.events = events;
     }
 
     // ============================
     // CHECKOUT
     // ============================
+    // admission comes from FlashSaleService.admit, taken by the caller
+    // before this transaction starts (see CheckoutIdempotencyService)
+    @Transactional
+    public Order checkout(String userEmail, FlashSaleService.Admission admission) {
+        return placeOrder(userEmail, admission);
+    }
+
+    // Same as checkout, plus the Idempotency-Key record in the same
+    // transaction: the order and its key commit or roll back together.
+    // A concurrent insert of the same key fails the unique constraint
+    // and rolls this checkout back (see CheckoutIdempotencyService).
     @Transactional
-    public Order checkout(String userEmail) {
+    public Order checkout(String userEmail,
+                          String idempotencyKey,
+                          LocalDateTime keyExpiresAt,
+                          FlashSaleService.Admission admission) {
+
+        // a record left over from an earlier, expired use of this key
+        // would fail the insert below
+        idempotencyRecordRepository.deleteExpiredKey(userEmail, idempotencyKey, LocalDateTime.now());
+
+        Order order = placeOrder(userEmail, admission);
+
+        idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(
+                userEmail,
+                idempotencyKey,
+                order.getId(),
+                keyExpiresAt
+        ));
 
-        Cart cart = cartRepository.findByUserEmail(userEmail)
+        return order;
+    }
+
+    private Order placeOrder(String userEmail, FlashSaleService.Admission admission) {
+
+        Cart cart = cartRepository.findWithItemsByUserEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Cart not found"));
 
         if (cart.getItems().isEmpty()) {
             throw new RuntimeException("Cart is empty");
         }
 
+        reserveStock(cart.getItems(), admission);
+
         Order order = new Order();
         order.setUserEmail(userEmail);
 
@@ -57,14 +148,142 @@ public class OrderService {
         // clear cart
         cart.getItems().clear();
 
-        return orderRepository.save(order);
+        // flushed so the rollup statement can read the new lines
+        Order saved = orderRepository.saveAndFlush(order);
+        salesRollupService.recordSale(saved.getId());
+        publishOrderUpdate(saved);
+        return saved;
+    }
+
+    // Decrements stock for every line with one conditional UPDATE each.
+    // Lines are processed in product id order so concurrent checkouts
+    // always take row locks in the same order (no deadlocks).
+    // Any failed line throws, rolling back the lines already reserved.
+    // Products on flash sale are reserved from memory instead.
+    private void reserveStock(List<CartItem> items, FlashSaleService.Admission admission) {
+
+        List<CartItem> ordered = new ArrayList<>(items);
+        ordered.sort(Comparator.comparing(ci -> ci.getProduct().getId()));
+
+        for (CartItem ci : ordered) {
+            Product product = ci.getProduct();
+
+            if (flashSaleService.reserve(admission, product.getId(), product.getName(), ci.getQuantity())) {
+                continue;
+            }
+
+            int updated = productRepository.decrementStock(product.getId(), ci.getQuantity());
+            if (updated == 0) {
+                if (productRepository.countOnFlashSale(product.getId()) > 0) {
+                    // a flash sale started after reserve() looked
+                    throw new ResponseStatusException(
+                            HttpStatus.SERVICE_UNAVAILABLE,
+                            "Flash sale starting for product " + product.getId() + ", retry shortly");
+                }
+                throw new InsufficientStockException(product.getId(), product.getName());
+            }
+
+            events.publishEvent(new ProductStockChangedEvent(product.getId(), -ci.getQuantity()));
+        }
     }
 
     // ============================
-    // GET ORDERS BY USER
+    // ORDER HISTORY (keyset pages, newest first)
+    // Hot table first; the archive is read only when the page reaches
+    // back past the archive horizon. Lines come in one query per table.
     // ============================
-    public List<Order> getOrdersByUser(String userEmail) {
-        return orderRepository.findByUserEmailOrderByCreatedAtDesc(userEmail);
+    public CursorPage<OrderSummaryDTO> getOrderHistory(String userEmail, String cursor, Integer size) {
+
+        int limit = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "size must be between 1 and " + MAX_PAGE_SIZE
+            );
+        }
+
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // fetch one extra row to know whether another page exists
+        PageRequest fetch = PageRequest.of(0, limit + 1);
+
+        List<OrderHeaderRow> rows = after == null
+                ? orderRepository.firstHistoryPage(userEmail, fetch)
+                : orderRepository.nextHistoryPage(userEmail, after.createdAt, after.id, fetch);
+
+        // archived orders are all older than the horizon, so they can only
+        // belong on this page if the hot rows run out or cross it
+        Set<Long> archivedIds = Set.of();
+        if (rows.size() <= limit || !rows.get(limit).getCreatedAt().isAfter(orderArchiveService.horizon())) {
+            List<OrderHeaderRow> archived = orderArchiveRepository.historyPage(
+                    userEmail,
+                    after == null ? null : after.createdAt,
+                    after == null ? null : after.id,
+                    limit + 1
+            );
+
+            if (!archived.isEmpty()) {
+                archivedIds = new HashSet<>();
+                for (OrderHeaderRow row : archived) {
+                    archivedIds.add(row.getId());
+                }
+
+                List<OrderHeaderRow> merged = new ArrayList<>(rows.size() + archived.size());
+                merged.addAll(rows);
+                merged.addAll(archived);
+                merged.sort(Comparator.comparing(OrderHeaderRow::getCreatedAt)
+                        .thenComparing(OrderHeaderRow::getId)
+                        .reversed());
+                rows = merged.size() > limit + 1 ? merged.subList(0, limit + 1) : merged;
+            }
+        }
+
+        List<OrderHeaderRow> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+
+        List<Long> hotIds = new ArrayList<>();
+        List<Long> coldIds = new ArrayList<>();
+        for (OrderHeaderRow row : page) {
+            (archivedIds.contains(row.getId()) ? coldIds : hotIds).add(row.getId());
+        }
+
+        List<OrderLineRow> lines = new ArrayList<>();
+        if (!hotIds.isEmpty()) {
+            lines.addAll(orderItemRepository.findLinesByOrderIds(hotIds));
+        }
+        if (!coldIds.isEmpty()) {
+            lines.addAll(orderArchiveRepository.findLinesByOrderIds(coldIds));
+        }
+
+        String next = null;
+        if (rows.size() > limit) {
+            OrderHeaderRow last = page.get(limit - 1);
+            next = encodeCursor(last.getId(), last.getCreatedAt());
+        }
+
+        return new CursorPage<>(OrderMapper.toSummaries(page, lines), next);
+    }
+
+    private record HistoryCursor(Long id, LocalDateTime createdAt) {}
+
+    // cursor = base64url("<id>:<createdAt ISO>")
+    private String encodeCursor(Long id, LocalDateTime createdAt) {
+        String raw = id + ":" + createdAt;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(
+                    Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return new HistoryCursor(Long.valueOf(parts[0]), LocalDateTime.parse(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
     }
 
     // ============================
@@ -76,7 +295,38 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        order.setStatus(status);
-        return orderRepository.save(order);
+        OrderStatus previous = order.getStatus();
+        if (!previous.canTransitionTo(status)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Order cannot move from " + previous + " to " + status
+            );
+        }
+
+        // guarded like the bulk path: if another request moved the order
+        // since the read above, nothing changes and the caller gets a 409
+        if (orderRepository.updateStatusIfCurrent(orderId, previous, status) == 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Order " + orderId + " changed status concurrently, reload and retry"
+            );
+        }
+
+        Order saved = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        salesRollupService.recordStatusChange(saved.getId(), previous, status);
+        publishOrderUpdate(saved);
+        return saved;
+    }
+
+    // live update to the buyer, committed with the order change
+    private void publishOrderUpdate(Order order) {
+        userRepository.findByEmail(order.getUserEmail()).ifPresent(user ->
+                outboxService.enqueueOrderUpdate(
+                        user.getId(),
+                        order.getId(),
+                        order.getStatus(),
+                        order.getTotalAmount()
+                ));
     }
 }
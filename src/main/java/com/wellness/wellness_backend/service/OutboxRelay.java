@@ -0,0 +1,175 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.controller.NotificationController;
+import com.wellness.wellness_backend.model.OutboxEvent;
+import com.wellness.wellness_backend.repo.OutboxEventRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains outbox_events to the user WebSocket queues.
+ *
+ * Each batch is locked (FOR UPDATE SKIP LOCKED, so several instances can
+ * relay side by side), sent, and deleted in one transaction. A crash
+ * after sending but before commit re-sends the batch: delivery is
+ * at-least-once, and payloads carry the entity id and status so clients
+ * can ignore repeats.
+ *
+ * The backlog is bounded: events that keep failing are dropped after
+ * max-attempts, and anything older than max-age is purged, since a
+ * stale live update is worth less than the state the client reloads.
+ */
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationController notificationController;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate tx;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration maxAge;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong lastLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            NotificationController notificationController,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.outbox.batch-size:200}") int batchSize,
+            @Value("${app.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+            @Value("${app.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${app.outbox.max-age-minutes:60}") long maxAgeMinutes
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationController = notificationController;
+        this.jsonMapper = jsonMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    // =========================
+    // RELAY
+    // =========================
+    @Scheduled(fixedDelayString = "${app.outbox.relay-ms:500}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer drained = tx.execute(status -> relayBatch());
+            if (drained == null || drained < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // returns how many rows the batch held
+    private int relayBatch() {
+
+        List<OutboxEvent> batch = outboxEventRepository.lockBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> done = new ArrayList<>(batch.size());
+        long now = System.currentTimeMillis();
+        long batchLag = 0;
+
+        for (OutboxEvent event : batch) {
+            try {
+                send(event);
+                sent.incrementAndGet();
+                done.add(event.getId());
+                batchLag = Math.max(batchLag, now - toEpochMs(event.getCreatedAt()));
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                event.setAttempts(event.getAttempts() + 1);
+                if (event.getAttempts() >= maxAttempts) {
+                    dropped.incrementAndGet();
+                    done.add(event.getId());
+                }
+            }
+        }
+
+        if (!done.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(done);
+        }
+
+        lastLagMs.set(batchLag);
+        maxLagMs.accumulateAndGet(batchLag, Math::max);
+        return batch.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(OutboxEvent event) {
+
+        Map<String, Object> payload = jsonMapper.readValue(event.getPayload(), Map.class);
+        Long userId = event.getRecipientUserId();
+
+        switch (event.getType()) {
+            case ORDER -> notificationController.sendOrderUpdate(userId, payload);
+            case BOOKING -> notificationController.sendBookingUpdate(userId, payload);
+            case NOTIFICATION -> notificationController.sendNotificationToUser(userId, payload);
+        }
+    }
+
+    // =========================
+    // BACKLOG BOUND
+    // =========================
+    @Scheduled(fixedDelayString = "${app.outbox.purge-ms:60000}")
+    public void purgeExpired() {
+        Integer removed = tx.execute(status ->
+                outboxEventRepository.deleteOlderThan(LocalDateTime.now().minus(maxAge)));
+        if (removed != null) {
+            expired.addAndGet(removed);
+        }
+    }
+
+    // =========================
+    // METRICS
+    // =========================
+    public Map<String, Object> stats() {
+
+        LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt();
+
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("backlog", outboxEventRepository.count());
+        s.put("oldestPendingAgeMs", oldest == null
+                ? 0 : System.currentTimeMillis() - toEpochMs(oldest));
+        s.put("lastBatchLagMs", lastLagMs.get());
+        s.put("maxLagMs", maxLagMs.get());
+        s.put("sent", sent.get());
+        s.put("failedAttempts", failed.get());
+        s.put("droppedAfterMaxAttempts", dropped.get());
+        s.put("expired", expired.get());
+        return s;
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,55 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.model.OutboxEvent;
+import com.wellness.wellness_backend.model.OutboxEventType;
+import com.wellness.wellness_backend.model.OrderStatus;
+import com.wellness.wellness_backend.repo.OutboxEventRepository;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+
+/**
+ * Write side of the transactional outbox.
+ *
+ * Services call enqueue inside their own transaction, so the push is
+ * stored if and only if the domain change commits. OutboxRelay delivers
+ * it to the user's WebSocket queue afterwards, off the request path.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JsonMapper jsonMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         JsonMapper jsonMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    // MANDATORY: an outbox row without the caller's transaction is a bug
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEventType type, Long recipientUserId, Map<String, Object> payload) {
+        outboxEventRepository.save(new OutboxEvent(
+                type,
+                recipientUserId,
+                jsonMapper.writeValueAsString(payload)
+        ));
+    }
+
+    // payload shared by single and bulk order status changes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueOrderUpdate(Long userId, Long orderId, OrderStatus status, double totalAmount) {
+        enqueue(OutboxEventType.ORDER, userId, Map.of(
+                "type", "order",
+                "orderId", orderId,
+                "status", status.name(),
+                "totalAmount", totalAmount
+        ));
+    }
+}
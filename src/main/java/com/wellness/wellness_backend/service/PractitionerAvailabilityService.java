@@ -1,30 +1,57 @@
 package com.wellness.wellness_backend.service;
 
+import com.wellness.wellness_backend.dto.AvailabilitySlotDTO;
+import com.wellness.wellness_backend.dto.AvailableSlotDTO;
+import com.wellness.wellness_backend.event.SlotChangedEvent;
 import com.wellness.wellness_backend.model.Practitioner;
-import com.wellness.wellness_backend.model.PractitionerAvailability;
-import com.wellness.wellness_backend.repo.PractitionerAvailabilityRepository;
 import com.wellness.wellness_backend.repo.PractitionerRepository;
+import com.wellness.wellness_backend.search.SlotAvailabilityIndex;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PractitionerAvailabilityService {
 
-    private final PractitionerAvailabilityRepository repo;
+    // earliest-slot search limits
+    public static final int MAX_RESULTS = 100;
+    public static final Duration DEFAULT_WINDOW = Duration.ofDays(7);
+    public static final Duration MAX_WINDOW = Duration.ofDays(31);
+
+    private final AvailabilityStore store;
+    private final DayMaskAvailabilityStore dayMaskStore;
     private final PractitionerRepository practitionerRepo;
+    private final SlotAvailabilityIndex index;
+    private final ApplicationEventPublisher events;
 
     public PractitionerAvailabilityService(
-            PractitionerAvailabilityRepository repo,
-            PractitionerRepository practitionerRepo) {
-        this.repo = repo;
+            AvailabilityStore store,
+            DayMaskAvailabilityStore dayMaskStore,
+            PractitionerRepository practitionerRepo,
+            SlotAvailabilityIndex index,
+            ApplicationEventPublisher events) {
+        this.store = store;
+        this.dayMaskStore = dayMaskStore;
         this.practitionerRepo = practitionerRepo;
+        this.index = index;
+        this.events = events;
     }
 
-    // Practitioner adds availability
-    public PractitionerAvailability addSlot(Long userId, LocalDateTime slot) {
+    // Practitioner adds availability (the index works in whole minutes)
+    @Transactional
+    public AvailabilitySlotDTO addSlot(Long userId, LocalDateTime requested) {
+
+        LocalDateTime slot = requested.truncatedTo(ChronoUnit.MINUTES);
 
         Practitioner practitioner =
                 practitionerRepo.findByUserId(userId);
@@ -33,39 +60,82 @@ public class PractitionerAvailabilityService {
             throw new RuntimeException("Not a verified practitioner");
         }
 
-        repo.findByPractitionerIdAndSlot(practitioner.getId(), slot)
-            .ifPresent(a -> {
-                throw new RuntimeException("Slot already exists");
-            });
-
-        PractitionerAvailability availability =
-                new PractitionerAvailability();
-        availability.setPractitionerId(practitioner.getId());
-        availability.setSlot(slot);
-
-        return repo.save(availability);
+        store.add(practitioner.getId(), slot);
+        events.publishEvent(SlotChangedEvent.freed(practitioner.getId(), slot));
+        return new AvailabilitySlotDTO(practitioner.getId(), slot, false);
     }
 
     // Public: view available slots
-    public List<PractitionerAvailability>
+    public List<AvailabilitySlotDTO>
     getAvailableSlots(Long practitionerId) {
-        return repo.findByPractitionerIdAndBookedFalse(practitionerId);
+        return store.freeSlots(practitionerId).stream()
+                .map(slot -> new AvailabilitySlotDTO(practitionerId, slot, false))
+                .toList();
     }
 
-    // Booking will call this
-    public PractitionerAvailability reserveSlot(
-            Long practitionerId, LocalDateTime slot) {
+    // Booking will call this, inside its own transaction so a failed
+    // booking insert rolls the reservation back.
+    // The check and the flip are one UPDATE: of two concurrent callers
+    // only one sees an affected row.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserveSlot(Long practitionerId, LocalDateTime slot) {
+
+        if (store.reserve(practitionerId, slot)) {
+            events.publishEvent(SlotChangedEvent.taken(practitionerId, slot));
+            return;
+        }
+
+        if (!store.exists(practitionerId, slot)) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND,
+                    "Slot not available"
+            );
+        }
+        throw new ResponseStatusException(
+                HttpStatus.CONFLICT,
+                "Slot already booked"
+        );
+    }
 
-        PractitionerAvailability availability =
-                repo.findByPractitionerIdAndSlot(practitionerId, slot)
-                        .orElseThrow(() ->
-                                new RuntimeException("Slot not available"));
+    // Booking cancellation: frees the slot in the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseSlot(Long practitionerId, LocalDateTime slot) {
+        if (store.release(practitionerId, slot)) {
+            events.publishEvent(SlotChangedEvent.freed(practitionerId, slot));
+        }
+    }
 
-        if (availability.isBooked()) {
-            throw new RuntimeException("Slot already booked");
+    // Public: earliest free slots across verified practitioners,
+    // answered from the in-memory index
+    public List<AvailableSlotDTO> findEarliest(String specialization,
+                                               LocalDateTime from,
+                                               LocalDateTime to,
+                                               int limit) {
+
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plus(DEFAULT_WINDOW);
+
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_RESULTS
+            );
         }
+        if (!end.isAfter(start) || Duration.between(start, end).compareTo(MAX_WINDOW) > 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Window must be positive and at most " + MAX_WINDOW.toDays() + " days"
+            );
+        }
+
+        return index.earliest(specialization, start, end, limit);
+    }
 
-        availability.setBooked(true);
-        return repo.save(availability);
+    // Admin: copy the row-per-slot table into day masks
+    @Transactional
+    public Map<String, Object> migrateToDayMasks() {
+        Map<String, Object> result = dayMaskStore.migrateFromRows();
+        result.put("activeStorage", store == dayMaskStore ? "day-mask" : "rows");
+        return result;
     }
 }
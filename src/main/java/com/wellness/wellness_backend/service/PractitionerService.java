@@ -1,6 +1,7 @@
 package com.wellness.wellness_backend.service;
 
 import com.wellness.wellness_backend.dto.PractitionerDTO;
+import com.wellness.wellness_backend.event.PractitionerChangedEvent;
 import com.wellness.wellness_backend.model.Practitioner;
 import com.wellness.wellness_backend.model.User;
 import com.wellness.wellness_backend.repo.PractitionerRepository;
@@ -9,6 +10,7 @@ import com.wellness.wellness_backend.repo.UserRepository;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -23,13 +25,16 @@ public class PractitionerService {
 
     private final PractitionerRepository practitionerRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher events;
 
     public PractitionerService(
             PractitionerRepository practitionerRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            ApplicationEventPublisher events
     ) {
         this.practitionerRepository = practitionerRepository;
         this.userRepository = userRepository;
+        this.events = events;
     }
 
     // =====================================================
@@ -158,7 +163,9 @@ public class PractitionerService {
 	    }
 
 	    practitioner.setVerified(true);
-	    return practitionerRepository.save(practitioner);
+	    Practitioner saved = practitionerRepository.save(practitioner);
+	    events.publishEvent(PractitionerChangedEvent.saved(saved));
+	    return saved;
 	}
 
 
@@ -168,13 +175,16 @@ public class PractitionerService {
     // ================================
     public void deletePractitioner(Long id) {
         practitionerRepository.deleteById(id);
+        events.publishEvent(PractitionerChangedEvent.deleted(id));
     }
 
     // ================================
     // UPDATE PRACTITIONER
     // ================================
     public Practitioner updatePractitioner(Practitioner practitioner) {
-        return practitionerRepository.save(practitioner);
+        Practitioner saved = practitionerRepository.save(practitioner);
+        events.publishEvent(PractitionerChangedEvent.saved(saved));
+        return saved;
     }
 
     // ================================
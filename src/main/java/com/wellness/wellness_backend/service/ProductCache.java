@@ -0,0 +1,85 @@
+package com.wellness.wellness_backend.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wellness.wellness_backend.event.ProductChangedEvent;
+import com.wellness.wellness_backend.event.ProductStockChangedEvent;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-through cache in front of productRepository.findById.
+ *
+ * Entries are bounded by count and expire after a TTL. Once an entry is
+ * older than the refresh interval the next read still returns it and
+ * reloads it in the background, so a slow database only delays freshness,
+ * not the caller. A failed reload keeps the old value until it expires.
+ *
+ * The cache holds a detached copy of each product (Product.copy) and
+ * every get() returns a fresh copy, so a caller changing its product,
+ * even inside a transaction, never affects other readers or the database.
+ */
+@Component
+public class ProductCache {
+
+    private final LoadingCache<Long, Product> cache;
+
+    public ProductCache(
+            ProductRepository productRepository,
+            @Value("${app.product-cache.max-size:10000}") long maxSize,
+            @Value("${app.product-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${app.product-cache.refresh-seconds:30}") long refreshSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .recordStats()
+                .build(id -> productRepository.findById(id).map(Product::copy).orElse(null));
+    }
+
+    // null when the product does not exist (misses are not cached)
+    public Product get(Long id) {
+        Product cached = cache.get(id);
+        return cached == null ? null : cached.copy();
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    // after commit, so a reload can't cache the pre-update row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = cache.stats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", s.hitCount());
+        result.put("misses", s.missCount());
+        result.put("hitRate", s.hitRate());
+        result.put("loads", s.loadCount());
+        result.put("loadFailures", s.loadFailureCount());
+        result.put("averageLoadMillis", s.averageLoadPenalty() / 1_000_000.0);
+        result.put("evictions", s.evictionCount());
+        return result;
+    }
+}
@@ -0,0 +1,348 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.dto.ProductImportReport;
+import com.wellness.wellness_backend.event.ProductsImportedEvent;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.model.id.SnowflakeIdGenerator;
+import com.wellness.wellness_backend.repo.ProductJdbcRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk product import from a CSV or NDJSON upload.
+ *
+ * The upload is parsed as a stream; valid rows are collected into chunks
+ * of chunk-size, and each chunk is inserted with JDBC batches of
+ * batch-size in its own transaction. Invalid rows are skipped and
+ * reported by line number. If a chunk's insert fails, every row in it
+ * is reported and the import carries on with the next chunk.
+ *
+ * Each committed chunk publishes one ProductsImportedEvent, so the
+ * search / facet indexes take its products in one pass under one lock.
+ * ProductCache needs nothing: rows are new and misses aren't cached.
+ *
+ * CSV needs a header row with name, price and stock columns;
+ * description and category are optional. NDJSON uses the same keys.
+ */
+@Service
+public class ProductImportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ApplicationEventPublisher events;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate tx;
+
+    private final int batchSize;
+    private final int chunkSize;
+
+    public ProductImportService(
+            ProductJdbcRepository productJdbcRepository,
+            ApplicationEventPublisher events,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.product-import.batch-size:1000}") int batchSize,
+            @Value("${app.product-import.chunk-size:5000}") int chunkSize
+    ) {
+        this.productJdbcRepository = productJdbcRepository;
+        this.events = events;
+        this.jsonMapper = jsonMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    // caller has already checked that ownerEmail may create products
+    public ProductImportReport importProducts(InputStream in, String format, String ownerEmail) {
+
+        long started = System.currentTimeMillis();
+        ProductImportReport report = new ProductImportReport();
+        Chunk chunk = new Chunk(report);
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024)) {
+
+            if (CSV.equals(format)) {
+                readCsv(reader, ownerEmail, chunk, report);
+            } else if (NDJSON.equals(format)) {
+                readNdjson(reader, ownerEmail, chunk, report);
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        chunk.flush();
+        report.setMillis(System.currentTimeMillis() - started);
+        return report;
+    }
+
+    // =========================
+    // NDJSON
+    // =========================
+    @SuppressWarnings("unchecked")
+    private void readNdjson(BufferedReader reader, String owner, Chunk chunk, ProductImportReport report)
+            throws IOException {
+
+        String line;
+        long lineNo = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            try {
+                Map<String, Object> fields = jsonMapper.readValue(line, Map.class);
+                chunk.add(toProduct(fields, owner), lineNo);
+            } catch (RuntimeException e) {
+                report.addError(lineNo, message(e));
+            }
+        }
+    }
+
+    // =========================
+    // CSV (RFC 4180: quoted fields may contain commas, quotes, newlines)
+    // =========================
+    private void readCsv(BufferedReader reader, String owner, Chunk chunk, ProductImportReport report)
+            throws IOException {
+
+        CsvReader csv = new CsvReader(reader);
+
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+
+        List<String> columns = new ArrayList<>(header.size());
+        for (String h : header) {
+            columns.add(h.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+        for (String required : List.of("name", "price", "stock")) {
+            if (!columns.contains(required)) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "CSV header must contain name, price and stock"
+                );
+            }
+        }
+
+        List<String> values;
+        while (true) {
+            long lineNo = csv.lineNumber() + 1;
+            values = csv.next();
+            if (values == null) break;
+            if (values.size() == 1 && values.get(0).isBlank()) continue;
+
+            try {
+                if (values.size() != columns.size()) {
+                    throw new IllegalArgumentException(
+                            "expected " + columns.size() + " fields, got " + values.size());
+                }
+                Map<String, Object> fields = new HashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    fields.put(columns.get(i), values.get(i));
+                }
+                chunk.add(toProduct(fields, owner), lineNo);
+            } catch (RuntimeException e) {
+                report.addError(lineNo, message(e));
+            }
+        }
+    }
+
+    // =========================
+    // ROW -> PRODUCT (validation)
+    // =========================
+    private static Product toProduct(Map<String, Object> fields, String owner) {
+
+        String name = text(fields.get("name"));
+        if (name == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (name.length() > 255) {
+            throw new IllegalArgumentException("name is longer than 255 characters");
+        }
+
+        String description = text(fields.get("description"));
+        if (description != null && description.length() > 1000) {
+            throw new IllegalArgumentException("description is longer than 1000 characters");
+        }
+
+        double price = number(fields.get("price"), "price").doubleValue();
+        if (price < 0 || Double.isNaN(price) || Double.isInfinite(price)) {
+            throw new IllegalArgumentException("price must be a non-negative number");
+        }
+
+        Number stockValue = number(fields.get("stock"), "stock");
+        if (stockValue.doubleValue() != Math.floor(stockValue.doubleValue())
+                || stockValue.doubleValue() < 0
+                || stockValue.doubleValue() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("stock must be a non-negative whole number");
+        }
+
+        Product p = new Product();
+        p.setId(SnowflakeIdGenerator.nextId());
+        p.setName(name);
+        p.setDescription(description);
+        p.setPrice(price);
+        p.setStock(stockValue.intValue());
+        p.setCategory(text(fields.get("category")));
+        p.setOwnerEmail(owner);
+        return p;
+    }
+
+    private static String text(Object value) {
+        if (value == null) return null;
+        String s = value.toString().trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    private static Number number(Object value, String field) {
+        if (value instanceof Number n) return n;
+        String s = text(value);
+        if (s == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        try {
+            return Double.valueOf(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a number: " + s);
+        }
+    }
+
+    private static String message(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    // =========================
+    // CHUNKED WRITES
+    // =========================
+    private final class Chunk {
+
+        private final ProductImportReport report;
+        private final List<Product> products = new ArrayList<>();
+        private final List<Long> lines = new ArrayList<>();
+
+        Chunk(ProductImportReport report) {
+            this.report = report;
+        }
+
+        void add(Product product, long line) {
+            products.add(product);
+            lines.add(line);
+            if (products.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (products.isEmpty()) return;
+
+            try {
+                tx.executeWithoutResult(status -> {
+                    productJdbcRepository.insertAll(products, batchSize);
+                    // delivered to the indexes after commit
+                    events.publishEvent(new ProductsImportedEvent(List.copyOf(products)));
+                });
+                report.addImported(products.size());
+            } catch (RuntimeException e) {
+                String msg = "insert failed: " + message(e);
+                for (Long line : lines) {
+                    report.addError(line, msg);
+                }
+            }
+
+            products.clear();
+            lines.clear();
+        }
+    }
+
+    // Minimal streaming CSV record reader. Package-private for CsvReaderTest.
+    static final class CsvReader {
+
+        private final BufferedReader reader;
+        private long line;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        // physical lines consumed so far
+        long lineNumber() {
+            return line;
+        }
+
+        // next record, or null at end of input
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c == -1) return null;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            while (true) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    line++;
+                    return fields;
+                }
+
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int n = reader.read();
+                        if (n == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') reader.reset();
+                    }
+                    fields.add(field.toString());
+                    line++;
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+
+                c = reader.read();
+            }
+        }
+    }
+}
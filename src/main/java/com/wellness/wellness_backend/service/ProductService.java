@@ -1,23 +1,55 @@
 package com.wellness.wellness_backend.service;
 
+import com.wellness.wellness_backend.dto.CursorPage;
+import com.wellness.wellness_backend.dto.ProductFacetsDTO;
+import com.wellness.wellness_backend.event.ProductChangedEvent;
 import com.wellness.wellness_backend.model.Product;
 import com.wellness.wellness_backend.repo.ProductRepository;
+import com.wellness.wellness_backend.search.ProductFacetIndex;
+import com.wellness.wellness_backend.search.ProductSearchIndex;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class ProductService {
 
-    private final ProductRepository repo;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
 
-    public ProductService(ProductRepository repo) {
+    private final ProductRepository repo;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFacetIndex facetIndex;
+    private final ProductCache cache;
+    private final ApplicationEventPublisher events;
+
+    public ProductService(ProductRepository repo,
+                          ProductSearchIndex searchIndex,
+                          ProductFacetIndex facetIndex,
+                          ProductCache cache,
+                          ApplicationEventPublisher events) {
         this.repo = repo;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.cache = cache;
+        this.events = events;
     }
 
     public Product create(Product p, String ownerEmail) {
         p.setOwnerEmail(ownerEmail);
-        return repo.save(p);
+        Product saved = repo.save(p);
+        events.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
     
     public Product update(Long id, Product incoming) {
@@ -39,21 +71,143 @@ public class ProductService {
         if (incoming.getCategory() != null)
             existing.setCategory(incoming.getCategory());
 
-        return repo.save(existing);
+        Product saved = repo.save(existing);
+        events.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
     }
 
     public void delete(Long id) {
         repo.deleteById(id);
+        events.publishEvent(ProductChangedEvent.deleted(id));
+    }
+
+    // =========================
+    // FULL-TEXT SEARCH (in-memory, no DB access)
+    // =========================
+    public List<Product> search(String query, Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return searchIndex.search(query, limit);
+    }
+
+    // =========================
+    // FACETED FILTERING (in-memory bitmaps)
+    // =========================
+    public ProductFacetsDTO facets(Collection<String> categories,
+                                   String priceBand,
+                                   boolean inStockOnly,
+                                   String seller,
+                                   Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 0), MAX_PAGE_SIZE);
+        try {
+            return facetIndex.query(categories, priceBand, inStockOnly, seller, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+
+    // =========================
+    // KEYSET PAGINATION
+    // sort = id | price | name, cursor = opaque value from the previous page
+    // =========================
+    public CursorPage<Product> getPage(String sort, String direction,
+                                       String cursor, Integer size) {
+
+        int limit = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "size must be between 1 and " + MAX_PAGE_SIZE
+            );
+        }
+
+        boolean desc = "desc".equalsIgnoreCase(direction);
+        if (!desc && direction != null && !"asc".equalsIgnoreCase(direction)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "direction must be asc or desc"
+            );
+        }
+
+        String sortKey = sort == null ? "id" : sort.toLowerCase();
+        String[] after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // fetch one extra row to know whether another page exists
+        Pageable fetch = PageRequest.of(0, limit + 1);
+
+        List<Product> rows;
+        try {
+            rows = switch (sortKey) {
+                case "id" -> after == null
+                        ? (desc ? repo.firstPageByIdDesc(fetch) : repo.firstPageById(fetch))
+                        : (desc ? repo.nextPageByIdDesc(Long.valueOf(after[0]), fetch)
+                                : repo.nextPageById(Long.valueOf(after[0]), fetch));
+                case "price" -> after == null
+                        ? (desc ? repo.firstPageByPriceDesc(fetch) : repo.firstPageByPrice(fetch))
+                        : (desc ? repo.nextPageByPriceDesc(Double.valueOf(after[1]), Long.valueOf(after[0]), fetch)
+                                : repo.nextPageByPrice(Double.valueOf(after[1]), Long.valueOf(after[0]), fetch));
+                case "name" -> after == null
+                        ? (desc ? repo.firstPageByNameDesc(fetch) : repo.firstPageByName(fetch))
+                        : (desc ? repo.nextPageByNameDesc(after[1], Long.valueOf(after[0]), fetch)
+                                : repo.nextPageByName(after[1], Long.valueOf(after[0]), fetch));
+                default -> throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "sort must be one of id, price, name"
+                );
+            };
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<Product> page = rows.subList(0, limit);
+        Product last = page.get(limit - 1);
+
+        String value = switch (sortKey) {
+            case "price" -> String.valueOf(last.getPrice());
+            case "name" -> last.getName();
+            default -> "";
+        };
+
+        return new CursorPage<>(page, encodeCursor(last.getId(), value));
     }
 
+    // cursor = base64url("<id>:<sort value>")
+    private String encodeCursor(Long id, String value) {
+        String raw = id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-    public List<Product> getAll() {
-        return repo.findAll();
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(
+                    Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
     }
 
+    // served from ProductCache; invalidated via ProductChangedEvent
     public Product getById(Long id) {
-        return repo.findById(id)
+        return findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
     }
 
+    public Optional<Product> findById(Long id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    public Map<String, Object> cacheStats() {
+        return cache.stats();
+    }
+
 }
@@ -0,0 +1,101 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.model.PractitionerAvailability;
+import com.wellness.wellness_backend.repo.PractitionerAvailabilityJdbcRepository;
+import com.wellness.wellness_backend.repo.PractitionerAvailabilityRepository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+// One practitioner_availability row per slot (the original format)
+@Component
+public class RowAvailabilityStore implements AvailabilityStore {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final PractitionerAvailabilityRepository repo;
+    private final PractitionerAvailabilityJdbcRepository jdbcRepo;
+
+    public RowAvailabilityStore(PractitionerAvailabilityRepository repo,
+                                PractitionerAvailabilityJdbcRepository jdbcRepo) {
+        this.repo = repo;
+        this.jdbcRepo = jdbcRepo;
+    }
+
+    // INSERT IGNORE rather than check-then-insert: of two concurrent adds
+    // of one slot, the second finds the first's row and gets 409, not a
+    // unique-key violation (500)
+    @Override
+    public void add(Long practitionerId, LocalDateTime slot) {
+        if (!jdbcRepo.insert(practitionerId, slot)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Slot already exists");
+        }
+    }
+
+    // one range read to skip known slots, then batched inserts of the
+    // rest; only slots this call inserted are returned (a concurrent
+    // expansion may have added some in between)
+    @Override
+    public List<LocalDateTime> addAll(Long practitionerId, List<LocalDateTime> slots) {
+
+        if (slots.isEmpty()) return List.of();
+
+        Set<LocalDateTime> taken = new HashSet<>(repo.findSlotsBetween(
+                practitionerId, Collections.min(slots), Collections.max(slots)));
+
+        List<LocalDateTime> candidates = new ArrayList<>();
+        for (LocalDateTime slot : slots) {
+            if (taken.add(slot)) {
+                candidates.add(slot);
+            }
+        }
+
+        return jdbcRepo.insertAll(practitionerId, candidates, INSERT_BATCH_SIZE);
+    }
+
+    @Override
+    public boolean reserve(Long practitionerId, LocalDateTime slot) {
+        return repo.reserve(practitionerId, slot) == 1;
+    }
+
+    @Override
+    public boolean release(Long practitionerId, LocalDateTime slot) {
+        return repo.release(practitionerId, slot) == 1;
+    }
+
+    @Override
+    public boolean exists(Long practitionerId, LocalDateTime slot) {
+        return repo.existsByPractitionerIdAndSlot(practitionerId, slot);
+    }
+
+    @Override
+    public List<LocalDateTime> freeSlots(Long practitionerId) {
+        return repo.findByPractitionerIdAndBookedFalse(practitionerId).stream()
+                .map(PractitionerAvailability::getSlot)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+    }
+
+    @Override
+    public void forEachFree(LocalDateTime from, BiConsumer<Long, LocalDateTime> action) {
+        for (PractitionerAvailability a : repo.findByBookedFalseAndSlotGreaterThanEqual(from)) {
+            action.accept(a.getPractitionerId(), a.getSlot());
+        }
+    }
+
+    // any whole minute (slots are truncated to minutes on the way in)
+    @Override
+    public int slotMinutes() {
+        return 1;
+    }
+}
@@ -0,0 +1,233 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.dto.SalesRollupDTO;
+import com.wellness.wellness_backend.dto.SalesTotalDTO;
+import com.wellness.wellness_backend.model.OrderStatus;
+import com.wellness.wellness_backend.model.RollupGranularity;
+import com.wellness.wellness_backend.repo.SalesRollupJdbcRepository;
+import com.wellness.wellness_backend.repo.SalesRollupRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hourly and daily sales per product (and, through the denormalized
+ * seller email, per seller).
+ *
+ * OrderService folds each order into its buckets as part of the checkout
+ * transaction and takes it back out when the order is cancelled, so
+ * dashboards read small pre-aggregated rows instead of scanning orders.
+ * rebuild() recomputes everything from raw orders, one day-aligned chunk
+ * per task so parallel chunks never write the same bucket.
+ *
+ * Chunks that end before today can't receive new orders and are read at
+ * READ COMMITTED: the INSERT ... SELECT then takes no shared locks on
+ * orders and never blocks checkouts. Today's buckets get a chunk of
+ * their own at REPEATABLE READ. There, the locks keep a checkout
+ * committing mid-rebuild from being counted twice (once by checkout,
+ * once by the rebuild). idx_orders_created keeps that scan, and its
+ * locks, to today's orders.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final int MAX_DAY_RANGE = 366;
+    private static final int MAX_HOUR_RANGE_DAYS = 31;
+
+    private final SalesRollupRepository rollupRepository;
+    private final SalesRollupJdbcRepository rollupJdbcRepository;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readCommittedTx;
+
+    private final int rebuildThreads;
+    private final int rebuildChunkDays;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public SalesRollupService(
+            SalesRollupRepository rollupRepository,
+            SalesRollupJdbcRepository rollupJdbcRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.sales-rollup.rebuild-threads:4}") int rebuildThreads,
+            @Value("${app.sales-rollup.rebuild-chunk-days:7}") int rebuildChunkDays
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.rollupJdbcRepository = rollupJdbcRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readCommittedTx = new TransactionTemplate(transactionManager);
+        this.readCommittedTx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.rebuildThreads = Math.max(rebuildThreads, 1);
+        this.rebuildChunkDays = Math.max(rebuildChunkDays, 1);
+    }
+
+    // =========================
+    // INCREMENTAL UPDATES (caller's transaction)
+    // =========================
+    public void recordSale(Long orderId) {
+        rollupJdbcRepository.applyOrder(orderId, 1);
+    }
+
+    // adjusts the rollups when a status change moves an order in or out
+    // of CANCELLED; other transitions don't change what was sold
+    public void recordStatusChange(Long orderId, OrderStatus from, OrderStatus to) {
+        boolean wasCounted = from != OrderStatus.CANCELLED;
+        boolean isCounted = to != OrderStatus.CANCELLED;
+
+        if (wasCounted && !isCounted) {
+            rollupJdbcRepository.applyOrder(orderId, -1);
+        } else if (!wasCounted && isCounted) {
+            rollupJdbcRepository.applyOrder(orderId, 1);
+        }
+    }
+
+    // bulk variant: previousById holds each changed order's status before the move
+    public void recordStatusChanges(Map<Long, OrderStatus> previousById, OrderStatus to) {
+        List<Long> added = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+
+        previousById.forEach((orderId, from) -> {
+            boolean wasCounted = from != OrderStatus.CANCELLED;
+            boolean isCounted = to != OrderStatus.CANCELLED;
+            if (wasCounted && !isCounted) removed.add(orderId);
+            else if (!wasCounted && isCounted) added.add(orderId);
+        });
+
+        if (!removed.isEmpty()) rollupJdbcRepository.applyOrders(removed, -1);
+        if (!added.isEmpty()) rollupJdbcRepository.applyOrders(added, 1);
+    }
+
+    // =========================
+    // DASHBOARD READS (rollups only)
+    // =========================
+    public List<SalesRollupDTO> byProduct(RollupGranularity granularity,
+                                          LocalDate from,
+                                          LocalDate to,
+                                          Long productId,
+                                          String sellerEmail) {
+        LocalDateTime[] range = range(granularity, from, to);
+        return rollupRepository.findByProduct(granularity, range[0], range[1], productId, sellerEmail);
+    }
+
+    public List<SalesTotalDTO> bySeller(RollupGranularity granularity,
+                                        LocalDate from,
+                                        LocalDate to,
+                                        String sellerEmail) {
+        LocalDateTime[] range = range(granularity, from, to);
+        return rollupRepository.findBySeller(granularity, range[0], range[1], sellerEmail);
+    }
+
+    // from/to are inclusive days; defaults to the last 30 days (DAY) or 2 days (HOUR)
+    private LocalDateTime[] range(RollupGranularity granularity, LocalDate from, LocalDate to) {
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        int maxDays = granularity == RollupGranularity.HOUR ? MAX_HOUR_RANGE_DAYS : MAX_DAY_RANGE;
+        LocalDate start = from != null
+                ? from
+                : end.minusDays(granularity == RollupGranularity.HOUR ? 1 : 29);
+
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (start.plusDays(maxDays).isBefore(end.plusDays(1))) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Range is limited to " + maxDays + " days for " + granularity
+            );
+        }
+        return new LocalDateTime[]{start.atStartOfDay(), end.plusDays(1).atStartOfDay()};
+    }
+
+    // =========================
+    // FULL REBUILD FROM ORDERS
+    // =========================
+    public Map<String, Object> rebuild() {
+
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rebuild already running");
+        }
+
+        long started = System.currentTimeMillis();
+        ExecutorService pool = null;
+
+        try {
+            LocalDateTime[] orders = rollupJdbcRepository.findOrderTimeRange();
+            if (orders == null) {
+                tx.executeWithoutResult(s -> rollupJdbcRepository.deleteRange(
+                        LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 0, 0)));
+                return rebuildResult(0, started);
+            }
+
+            LocalDateTime first = orders[0].toLocalDate().atStartOfDay();
+            LocalDateTime end = orders[1].toLocalDate().plusDays(1).atStartOfDay();
+
+            // buckets with no orders left behind them
+            tx.executeWithoutResult(s -> rollupJdbcRepository.deleteOutside(first, end));
+
+            // new orders land at or after this (created_at is the insert
+            // time; an hour of slack for clock skew between instances)
+            LocalDateTime live = LocalDateTime.now().minusHours(1).toLocalDate().atStartOfDay();
+
+            pool = Executors.newFixedThreadPool(rebuildThreads);
+            List<Future<?>> chunks = new ArrayList<>();
+
+            LocalDateTime from = first;
+            while (from.isBefore(end)) {
+                LocalDateTime to = from.plusDays(rebuildChunkDays).isBefore(end)
+                        ? from.plusDays(rebuildChunkDays)
+                        : end;
+                if (from.isBefore(live) && to.isAfter(live)) {
+                    to = live;
+                }
+                LocalDateTime chunkFrom = from;
+                LocalDateTime chunkTo = to;
+                TransactionTemplate chunkTx = to.isAfter(live) ? tx : readCommittedTx;
+                chunks.add(pool.submit(() -> chunkTx.executeWithoutResult(
+                        s -> rollupJdbcRepository.rebuildRange(chunkFrom, chunkTo))));
+                from = to;
+            }
+
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+            return rebuildResult(chunks.size(), started);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Rebuild interrupted");
+        } catch (ExecutionException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Rebuild failed: " + e.getCause().getMessage()
+            );
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private static Map<String, Object> rebuildResult(int chunks, long started) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("chunks", chunks);
+        result.put("millis", System.currentTimeMillis() - started);
+        return result;
+    }
+}
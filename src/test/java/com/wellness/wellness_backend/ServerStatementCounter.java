@@ -0,0 +1,71 @@
+package com.wellness.wellness_backend;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+// Records the statements the MySQL driver actually sends to the server,
+// after batching and rewriteBatchedStatements, on the calling thread.
+// Only threads that called reset() record anything. Installed on the
+// test container's JDBC URL by TestcontainersConfiguration.
+public class ServerStatementCounter implements QueryInterceptor {
+
+    private static final ThreadLocal<List<String>> SENT = new ThreadLocal<>();
+
+    public static void reset() {
+        SENT.set(new ArrayList<>());
+    }
+
+    // statements sent since reset() that start with the given prefix,
+    // compared lower-case with whitespace collapsed
+    public static long count(String prefix) {
+        List<String> sent = SENT.get();
+        if (sent == null) {
+            return 0;
+        }
+        String p = normalize(prefix);
+        return sent.stream().filter(sql -> sql.startsWith(p)).count();
+    }
+
+    private static String normalize(String sql) {
+        return sql.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        List<String> sent = SENT.get();
+        if (sent != null) {
+            sent.add(normalize(sql.get()));
+        }
+        return null;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery,
+                                               T originalResultSet, ServerSession serverSession) {
+        return null;
+    }
+}
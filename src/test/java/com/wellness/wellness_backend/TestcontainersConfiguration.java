@@ -0,0 +1,31 @@
+package com.wellness.wellness_backend;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.mysql.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+// Throwaway MySQL for integration tests. The container is a bean, so
+// every test class that imports this shares it through the cached context.
+// Hibernate statements are counted per thread (StatementCounter), and
+// so are the statements the driver sends (ServerStatementCounter).
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    @Bean
+    @ServiceConnection
+    MySQLContainer mysqlContainer() {
+        // same batching as the application.properties URL
+        return new MySQLContainer(DockerImageName.parse("mysql:8.4"))
+                .withUrlParam("rewriteBatchedStatements", "true")
+                .withUrlParam("queryInterceptors", ServerStatementCounter.class.getName());
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer statementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+}
@@ -0,0 +1,150 @@
+package com.wellness.wellness_backend.search;
+
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.dto.ProductFacetsDTO;
+import com.wellness.wellness_backend.model.id.SnowflakeIdGenerator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Facet evaluation at catalog scale: 100k products, the bitmap index
+// against the GROUP BY queries it replaces. Both must agree; the index
+// must stay under a millisecond per query and beat the database.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ProductFacetIndexTimingTest {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int CATEGORIES = 20;
+    private static final int SELLERS = 50;
+    private static final int WARMUP = 500;
+    private static final int INDEX_RUNS = 2_000;
+    private static final int DB_RUNS = 20;
+
+    // filter: two categories, in stock only (about a tenth of the catalog)
+    private static final String DB_WHERE = "WHERE category IN (?, ?) AND stock > 0";
+
+    @Autowired
+    private ProductFacetIndex facetIndex;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM products WHERE category LIKE ?", "%-" + run);
+        facetIndex.rebuild();
+    }
+
+    @Test
+    void bitmapFacetsStaySubMillisecondAndBeatGroupBy() {
+
+        seed();
+        facetIndex.rebuild();
+
+        List<String> filter = List.of(category(0), category(1));
+
+        // same answer as the database
+        ProductFacetsDTO facets = facetIndex.query(filter, null, true, null, 20);
+        Map<String, Integer> dbCategories = new HashMap<>();
+        jdbc.query("SELECT category, COUNT(*) FROM products " + DB_WHERE + " GROUP BY category",
+                rs -> { dbCategories.put(rs.getString(1), rs.getInt(2)); },
+                filter.get(0), filter.get(1));
+        int dbTotal = dbCategories.values().stream().mapToInt(Integer::intValue).sum();
+
+        assertThat(facets.getTotal()).isEqualTo(dbTotal);
+        assertThat(facets.getCategories()).isEqualTo(dbCategories);
+        assertThat(facets.getItems()).hasSize(20);
+
+        for (int i = 0; i < WARMUP; i++) {
+            facetIndex.query(filter, null, true, null, 20);
+        }
+        long[] index = new long[INDEX_RUNS];
+        for (int i = 0; i < INDEX_RUNS; i++) {
+            long start = System.nanoTime();
+            facetIndex.query(filter, null, true, null, 20);
+            index[i] = System.nanoTime() - start;
+        }
+
+        // what a request would otherwise run: one GROUP BY per facet
+        long[] db = new long[DB_RUNS];
+        for (int i = 0; i < DB_RUNS; i++) {
+            long start = System.nanoTime();
+            groupByFacets(filter);
+            db[i] = System.nanoTime() - start;
+        }
+
+        long indexMedian = median(index);
+        long dbMedian = median(db);
+        System.out.printf("[timing] facets over %d products: bitmap p50 %d us, p99 %d us; GROUP BY p50 %d us%n",
+                PRODUCTS, indexMedian / 1_000, percentile(index, 0.99) / 1_000, dbMedian / 1_000);
+
+        assertThat(indexMedian).isLessThan(1_000_000L);
+        assertThat(indexMedian).isLessThan(dbMedian);
+    }
+
+    private void groupByFacets(List<String> filter) {
+        Object[] args = {filter.get(0), filter.get(1)};
+        jdbc.queryForList("SELECT category, COUNT(*) FROM products " + DB_WHERE + " GROUP BY category", args);
+        jdbc.queryForList("""
+                SELECT CASE WHEN price < 10 THEN 0 WHEN price < 25 THEN 1
+                            WHEN price < 50 THEN 2 WHEN price < 100 THEN 3 ELSE 4 END AS band,
+                       COUNT(*)
+                FROM products
+                """ + DB_WHERE + " GROUP BY band", args);
+        jdbc.queryForList("SELECT owner_email, COUNT(*) FROM products " + DB_WHERE + " GROUP BY owner_email", args);
+        jdbc.queryForList("SELECT id, name, price, stock FROM products " + DB_WHERE + " ORDER BY id LIMIT 20", args);
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            rows.add(new Object[]{
+                    SnowflakeIdGenerator.nextId(),
+                    "Product " + i,
+                    1 + random.nextInt(200) + 0.99,
+                    random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(50),
+                    category(random.nextInt(CATEGORIES)),
+                    "seller" + random.nextInt(SELLERS) + "-" + run + "@example.com"
+            });
+        }
+        for (int from = 0; from < rows.size(); from += 5_000) {
+            jdbc.batchUpdate(
+                    "INSERT INTO products (id, name, price, stock, category, owner_email) VALUES (?, ?, ?, ?, ?, ?)",
+                    rows.subList(from, Math.min(from + 5_000, rows.size())));
+        }
+    }
+
+    private String category(int i) {
+        return "cat" + i + "-" + run;
+    }
+
+    private static long median(long[] nanos) {
+        return percentile(nanos, 0.5);
+    }
+
+    private static long percentile(long[] nanos, double p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))];
+    }
+}
@@ -0,0 +1,107 @@
+package com.wellness.wellness_backend.search;
+
+import com.wellness.wellness_backend.event.ProductChangedEvent;
+import com.wellness.wellness_backend.event.ProductStockChangedEvent;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// A rebuild of the search / facet index racing product events (no Spring,
+// no DB). While findAll is stalled: one unit of A sells (findAll already
+// read the new stock), B is deleted and C is created. After the rebuild
+// the index must match the database: A, C, and A's stock counted once.
+class ProductIndexRebuildTest {
+
+    private final CountDownLatch reading = new CountDownLatch(1);
+    private final CountDownLatch changed = new CountDownLatch(1);
+
+    @Test
+    void searchIndexKeepsChangesMadeWhileFindAllRuns() throws Exception {
+
+        ProductSearchIndex index = new ProductSearchIndex(repository());
+
+        Map<String, Integer> stock = race(index::rebuild,
+                index::onProductChanged,
+                index::onStockChanged,
+                () -> index.search("tea", 10));
+
+        assertThat(stock).containsExactlyInAnyOrderEntriesOf(Map.of("Green tea", 1, "White tea", 5));
+    }
+
+    @Test
+    void facetIndexKeepsChangesMadeWhileFindAllRuns() throws Exception {
+
+        ProductFacetIndex index = new ProductFacetIndex(repository());
+
+        Map<String, Integer> stock = race(index::rebuild,
+                index::onProductChanged,
+                index::onStockChanged,
+                () -> index.query(null, null, false, null, 10).getItems());
+
+        assertThat(stock).containsExactlyInAnyOrderEntriesOf(Map.of("Green tea", 1, "White tea", 5));
+        assertThat(index.query(null, null, true, null, 10).getInStock()).isEqualTo(2);
+    }
+
+    // name -> stock as the index sees it after a rebuild that raced the changes
+    private Map<String, Integer> race(Runnable rebuild,
+                                      Consumer<ProductChangedEvent> onProductChanged,
+                                      Consumer<ProductStockChangedEvent> onStockChanged,
+                                      Supplier<List<Product>> items) throws Exception {
+
+        rebuild.run();
+
+        CompletableFuture<Void> stalled = CompletableFuture.runAsync(rebuild);
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        onStockChanged.accept(new ProductStockChangedEvent(1L, -1));
+        onProductChanged.accept(ProductChangedEvent.deleted(2L));
+        onProductChanged.accept(ProductChangedEvent.saved(product(3L, "White tea", 5)));
+
+        changed.countDown();
+        stalled.get(10, TimeUnit.SECONDS);
+
+        return items.get().stream().collect(Collectors.toMap(Product::getName, Product::getStock));
+    }
+
+    // first findAll: the catalogue before the changes; second: stalls, then
+    // returns what it read (A already sold, B not yet deleted, no C)
+    private ProductRepository repository() {
+        ProductRepository repo = mock(ProductRepository.class);
+        when(repo.findAll())
+                .thenReturn(List.of(product(1L, "Green tea", 2), product(2L, "Black tea", 3)))
+                .thenAnswer(inv -> {
+                    reading.countDown();
+                    assertThat(changed.await(10, TimeUnit.SECONDS)).isTrue();
+                    return List.of(product(1L, "Green tea", 1), product(2L, "Black tea", 3));
+                });
+        when(repo.findAllById(any()))
+                .thenReturn(List.of(product(1L, "Green tea", 1), product(3L, "White tea", 5)));
+        return repo;
+    }
+
+    private static Product product(Long id, String name, int stock) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setCategory("tea");
+        p.setPrice(8.0);
+        p.setStock(stock);
+        p.setOwnerEmail("seller@example.com");
+        return p;
+    }
+}
@@ -0,0 +1,92 @@
+package com.wellness.wellness_backend.search;
+
+import com.wellness.wellness_backend.dto.AvailableSlotDTO;
+import com.wellness.wellness_backend.event.SlotChangedEvent;
+import com.wellness.wellness_backend.model.Practitioner;
+import com.wellness.wellness_backend.repo.PractitionerRepository;
+import com.wellness.wellness_backend.service.AvailabilityStore;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// A rebuild racing slot events (no Spring, no DB): queries keep seeing
+// the old index while it loads, and a booking that commits after the
+// load read its slot is not undone by the load's stale copy.
+class SlotAvailabilityIndexTest {
+
+    private static final Long PRACTITIONER = 1L;
+
+    private final LocalDateTime ten = LocalDate.now().plusDays(1).atTime(10, 0);
+    private final LocalDateTime eleven = ten.plusHours(1);
+
+    @Test
+    void bookingDuringRebuildIsNotLost() throws Exception {
+
+        PractitionerRepository practitioners = mock(PractitionerRepository.class);
+        when(practitioners.findByVerifiedTrue()).thenReturn(List.of(practitioner()));
+
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch booked = new CountDownLatch(1);
+        boolean[] stall = {false};
+
+        // both slots free as far as the store knows; a stalled scan has
+        // read them and waits before handing them over
+        AvailabilityStore store = mock(AvailabilityStore.class);
+        doAnswer(inv -> {
+            BiConsumer<Long, LocalDateTime> action = inv.getArgument(1);
+            if (stall[0]) {
+                scanning.countDown();
+                assertThat(booked.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            action.accept(PRACTITIONER, ten);
+            action.accept(PRACTITIONER, eleven);
+            return null;
+        }).when(store).forEachFree(any(), any());
+
+        SlotAvailabilityIndex index = new SlotAvailabilityIndex(practitioners, store);
+        index.rebuild();
+        assertThat(slots(index)).containsExactly(ten, eleven);
+
+        stall[0] = true;
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(index::rebuild);
+        assertThat(scanning.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // mid-rebuild: the live index answers, and takes the booking
+        assertThat(slots(index)).containsExactly(ten, eleven);
+        index.onSlotChanged(SlotChangedEvent.taken(PRACTITIONER, ten));
+        assertThat(slots(index)).containsExactly(eleven);
+
+        booked.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+
+        assertThat(slots(index)).containsExactly(eleven);
+    }
+
+    private List<LocalDateTime> slots(SlotAvailabilityIndex index) {
+        return index.earliest(null, ten.toLocalDate().atStartOfDay(), ten.plusDays(1), 10).stream()
+                .map(AvailableSlotDTO::getSlot)
+                .toList();
+    }
+
+    private static Practitioner practitioner() {
+        Practitioner p = new Practitioner();
+        p.setId(PRACTITIONER);
+        p.setName("Dr. Rebuild");
+        p.setSpecialization("physio");
+        p.setVerified(true);
+        return p;
+    }
+}
@@ -0,0 +1,141 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.model.Booking;
+import com.wellness.wellness_backend.model.BookingStatus;
+import com.wellness.wellness_backend.model.Practitioner;
+import com.wellness.wellness_backend.model.id.SnowflakeIdGenerator;
+import com.wellness.wellness_backend.repo.BookingRepository;
+import com.wellness.wellness_backend.repo.PractitionerRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A confirm and a cancel of the same booking at once: both read CREATED,
+// and the compare-and-set UPDATE lets exactly one of them through. The
+// other gets a 409, even though cancelling a CONFIRMED booking is legal
+// on its own. A third connection holds the booking's row lock until both
+// UPDATEs are queued behind it, so the overlap doesn't depend on timing.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class BookingTransitionConcurrencyTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PractitionerRepository practitionerRepository;
+
+    @Autowired
+    private AvailabilityStore store;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void exactlyOneOfConfirmAndCancelWins() throws Exception {
+
+        Practitioner practitioner = practitionerRepository.save(practitioner());
+        LocalDateTime slot = LocalDate.now().plusDays(2).atTime(14, 0);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> store.add(practitioner.getId(), slot));
+        Booking booking = bookingService.createBooking(SnowflakeIdGenerator.nextId(), practitioner.getId(), slot);
+        Long id = booking.getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<Boolean> confirm;
+        Future<Boolean> cancel;
+
+        try (Connection blocker = dataSource.getConnection()) {
+            blocker.setAutoCommit(false);
+            try (PreparedStatement lock = blocker.prepareStatement("SELECT id FROM bookings WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, id);
+                lock.executeQuery().close();
+            }
+
+            confirm = pool.submit(attempt(() -> bookingService.confirmBooking(id)));
+            cancel = pool.submit(attempt(() -> bookingService.cancelBooking(id)));
+
+            awaitLockWaits(2);
+            blocker.commit();
+        }
+
+        try {
+            boolean confirmed = confirm.get(60, TimeUnit.SECONDS);
+            boolean cancelled = cancel.get(60, TimeUnit.SECONDS);
+
+            assertThat(confirmed ^ cancelled).as("exactly one wins").isTrue();
+            BookingStatus status = bookingRepository.findById(id).orElseThrow().getStatus();
+            assertThat(status).isEqualTo(confirmed ? BookingStatus.CONFIRMED : BookingStatus.CANCELLED);
+            // the slot goes back on offer only if the cancel won
+            assertThat(store.freeSlots(practitioner.getId()).contains(slot)).isEqualTo(cancelled);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // true if the transition went through; a 409 is the only accepted loss.
+    // Any other exception fails the test through Future.get.
+    private Callable<Boolean> attempt(Runnable transition) {
+        return () -> {
+            try {
+                transition.run();
+                return true;
+            } catch (ResponseStatusException e) {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                return false;
+            }
+        };
+    }
+
+    // both callers have read the booking and are parked on its row lock
+    private void awaitLockWaits(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.innodb_trx WHERE trx_state = 'LOCK WAIT'",
+                Integer.class) < expected) {
+            assertThat(System.currentTimeMillis()).as("callers blocked on the row lock").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static Practitioner practitioner() {
+        Practitioner p = new Practitioner();
+        p.setUserId(SnowflakeIdGenerator.nextId());
+        p.setName("Dr. Race");
+        p.setSpecialization("physio");
+        p.setVerified(true);
+        return p;
+    }
+}
@@ -0,0 +1,62 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.StatementCounter;
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.dto.CartDTO;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GET /api/cart (CartService.getCart) is one SQL statement whatever the
+// cart size: no per-line product loads.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class CartReadQueryCountTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void cartReadIsOneStatementRegardlessOfSize() {
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+
+        for (int lines : new int[]{0, 1, 25}) {
+            String email = "reader" + lines + "-" + run + "@example.com";
+            for (int i = 0; i < lines; i++) {
+                Product p = productRepository.save(product("P" + i + "-" + run));
+                cartService.addItem(email, p.getId(), 1 + i % 3);
+            }
+
+            StatementCounter.reset();
+            CartDTO cart = cartService.getCart(email);
+
+            assertThat(cart.getItems()).as("lines").hasSize(lines);
+            assertThat(StatementCounter.count())
+                    .as("statements for a cart of %d lines", lines)
+                    .isEqualTo(1);
+        }
+    }
+
+    private static Product product(String name) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(12.5);
+        p.setStock(100);
+        p.setOwnerEmail("seller@example.com");
+        return p;
+    }
+}
@@ -0,0 +1,75 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.ServerStatementCounter;
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.model.Order;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A multi-line checkout sends all of its order lines to MySQL as one
+// statement: app-assigned (Snowflake) ids let Hibernate batch the
+// inserts, and rewriteBatchedStatements turns the batch into one
+// multi-row INSERT. An entity going back to IDENTITY ids, or the URL
+// flag going missing, shows up here as one statement per line.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class CheckoutBatchingTest {
+
+    private static final int LINES = 10;
+
+    @Autowired
+    private CheckoutIdempotencyService checkoutService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void orderLinesReachTheServerAsOneInsert() {
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        String email = "batcher-" + run + "@example.com";
+        for (int i = 0; i < LINES; i++) {
+            Product p = productRepository.save(product("B" + i + "-" + run));
+            cartService.addItem(email, p.getId(), 1);
+        }
+
+        ServerStatementCounter.reset();
+        Order order = checkoutService.checkout(email, null);
+
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Integer.class, order.getId()))
+                .isEqualTo(LINES);
+        assertThat(ServerStatementCounter.count("insert into order_items"))
+                .as("INSERT statements sent for %d order lines", LINES)
+                .isEqualTo(1);
+        assertThat(ServerStatementCounter.count("insert into orders"))
+                .isEqualTo(1);
+    }
+
+    private static Product product(String name) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(9.5);
+        p.setStock(100);
+        p.setOwnerEmail("seller@example.com");
+        return p;
+    }
+}
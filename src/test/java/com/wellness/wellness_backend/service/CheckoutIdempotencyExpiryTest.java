@@ -0,0 +1,80 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.model.IdempotencyRecord;
+import com.wellness.wellness_backend.model.Order;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.IdempotencyRecordRepository;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// An Idempotency-Key whose record has expired, but not yet been purged,
+// starts a new checkout instead of failing on the unique key.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class CheckoutIdempotencyExpiryTest {
+
+    @Autowired
+    private CheckoutIdempotencyService checkoutService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void expiredKeyCanBeReused() {
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        String email = "reuser-" + run + "@example.com";
+        String key = "key-" + run;
+        Product product = productRepository.save(product("E-" + run));
+
+        // an earlier order under this key, recorded a day ago and expired
+        // an hour ago; purgeExpired hasn't run since
+        cartService.addItem(email, product.getId(), 1);
+        Order earlier = checkoutService.checkout(email, null);
+        recordRepository.saveAndFlush(new IdempotencyRecord(
+                email, key, earlier.getId(), LocalDateTime.now().minusHours(1)));
+
+        cartService.addItem(email, product.getId(), 2);
+        Order reused = checkoutService.checkout(email, key);
+
+        assertThat(reused.getId()).isNotEqualTo(earlier.getId());
+        assertThat(jdbc.queryForObject(
+                "SELECT order_id FROM idempotency_records WHERE user_email = ? AND idempotency_key = ?",
+                Long.class, email, key))
+                .isEqualTo(reused.getId());
+
+        // and the fresh record answers retries again
+        assertThat(checkoutService.checkout(email, key).getId()).isEqualTo(reused.getId());
+    }
+
+    private static Product product(String name) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(20.0);
+        p.setStock(100);
+        p.setOwnerEmail("seller@example.com");
+        return p;
+    }
+}
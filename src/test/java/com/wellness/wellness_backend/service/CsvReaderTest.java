@@ -0,0 +1,98 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.service.ProductImportService.CsvReader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The import's CSV record reader on its own (no Spring, no DB): RFC 4180
+// quoting, line endings, and the physical line count that row errors
+// are reported against.
+class CsvReaderTest {
+
+    @Test
+    void plainRecords() throws IOException {
+        assertThat(records("name,price,stock\nTea,4.5,10\n")).containsExactly(
+                List.of("name", "price", "stock"),
+                List.of("Tea", "4.5", "10"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        assertThat(records("\"Tea, green\",\"say \"\"hi\"\"\",\"\"\n")).containsExactly(
+                List.of("Tea, green", "say \"hi\"", ""));
+    }
+
+    @Test
+    void quotesInsideAnUnquotedFieldAreLiteral() throws IOException {
+        assertThat(records("12\" pan,3\n")).containsExactly(
+                List.of("12\" pan", "3"));
+    }
+
+    @Test
+    void crlfAndBareCrEndRecords() throws IOException {
+        assertThat(records("a,b\r\nc,d\re,f\n")).containsExactly(
+                List.of("a", "b"),
+                List.of("c", "d"),
+                List.of("e", "f"));
+    }
+
+    @Test
+    void embeddedNewlinesStayInTheField() throws IOException {
+        assertThat(records("\"line one\nline two\",x\r\n\"a\r\nb\",y\n")).containsExactly(
+                List.of("line one\nline two", "x"),
+                List.of("a\r\nb", "y"));
+    }
+
+    @Test
+    void emptyFieldsAndMissingFinalNewline() throws IOException {
+        assertThat(records(",a,\nlast,row")).containsExactly(
+                List.of("", "a", ""),
+                List.of("last", "row"));
+    }
+
+    @Test
+    void blankLineIsOneEmptyField() throws IOException {
+        assertThat(records("a\n\nb\n")).containsExactly(
+                List.of("a"),
+                List.of(""),
+                List.of("b"));
+    }
+
+    @Test
+    void lineNumberCountsPhysicalLines() throws IOException {
+        CsvReader csv = reader("h1,h2\n\"multi\nline\r\nvalue\",1\r\nnext,2\n");
+
+        csv.next();
+        assertThat(csv.lineNumber()).isEqualTo(1);
+
+        // the record starting on line 2 spans lines 2-4
+        assertThat(csv.next()).containsExactly("multi\nline\r\nvalue", "1");
+        assertThat(csv.lineNumber()).isEqualTo(4);
+
+        assertThat(csv.next()).containsExactly("next", "2");
+        assertThat(csv.lineNumber()).isEqualTo(5);
+
+        assertThat(csv.next()).isNull();
+    }
+
+    private static List<List<String>> records(String input) throws IOException {
+        CsvReader csv = reader(input);
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> r = csv.next(); r != null; r = csv.next()) {
+            records.add(r);
+        }
+        return records;
+    }
+
+    private static CsvReader reader(String input) {
+        return new CsvReader(new BufferedReader(new StringReader(input)));
+    }
+}
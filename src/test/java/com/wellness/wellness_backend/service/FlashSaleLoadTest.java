@@ -0,0 +1,149 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.exception.InsufficientStockException;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checkout throughput on one hot product, with and without flash-sale
+// mode. Twice as many buyers as units: in both modes exactly the stock
+// is sold, and the products row ends at zero once written back.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class FlashSaleLoadTest {
+
+    private static final int STOCK = 200;
+    private static final int BUYERS = 2 * STOCK;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private CheckoutIdempotencyService checkoutService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private FlashSaleService flashSaleService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void bothModesSellExactlyTheStock() throws Exception {
+
+        double database = run("database", false);
+        double flashSale = run("flash-sale", true);
+
+        System.out.printf("[throughput] checkouts/s on one product: database %.0f, flash-sale %.0f%n",
+                database, flashSale);
+    }
+
+    // returns placed orders per second
+    private double run(String mode, boolean flash) throws Exception {
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Product product = productRepository.save(product(mode + "-" + run));
+
+        List<String> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            String email = "buyer" + i + "-" + run + "@example.com";
+            cartService.addItem(email, product.getId(), 1);
+            buyers.add(email);
+        }
+
+        if (flash) {
+            flashSaleService.start(product.getId(), null, null, null);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        long started;
+        int placed = 0;
+        try {
+            for (String email : buyers) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return checkout(email);
+                }));
+            }
+            started = System.nanoTime();
+            go.countDown();
+
+            for (Future<Boolean> result : results) {
+                if (result.get(120, TimeUnit.SECONDS)) placed++;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        if (flash) {
+            flashSaleService.end(product.getId());
+            // closing clears once every sold unit is written back
+            while (flashSaleService.anyActive()) {
+                Thread.sleep(50);
+                flashSaleService.flush();
+            }
+        }
+
+        assertThat(placed).as(mode).isEqualTo(STOCK);
+        assertThat(jdbc.queryForObject(
+                "SELECT stock FROM products WHERE id = ?", Integer.class, product.getId()))
+                .as(mode).isZero();
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE user_email LIKE ?",
+                Integer.class, "%-" + run + "@example.com"))
+                .as(mode).isEqualTo(STOCK);
+
+        return placed / seconds;
+    }
+
+    // retries while the admission queue pushes back, like a client would
+    private boolean checkout(String email) throws InterruptedException {
+        while (true) {
+            try {
+                checkoutService.checkout(email, null);
+                return true;
+            } catch (InsufficientStockException e) {
+                return false;
+            } catch (ResponseStatusException e) {
+                if (e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS) throw e;
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private static Product product(String name) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(10.0);
+        p.setStock(STOCK);
+        p.setOwnerEmail("seller@example.com");
+        return p;
+    }
+}
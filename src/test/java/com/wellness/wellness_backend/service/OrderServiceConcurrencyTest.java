@@ -0,0 +1,114 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.exception.InsufficientStockException;
+import com.wellness.wellness_backend.model.Product;
+import com.wellness.wellness_backend.repo.ProductRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Parallel checkouts racing for the last units of two products
+// (OrderService.reserveStock): no overselling, no deadlocks.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class OrderServiceConcurrencyTest {
+
+    private static final int STOCK = 10;
+    private static final int BUYERS = 40;
+
+    @Autowired
+    private CheckoutIdempotencyService checkoutService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void parallelCheckoutsNeverOversell() throws Exception {
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Product a = productRepository.save(product("A-" + run));
+        Product b = productRepository.save(product("B-" + run));
+
+        // every cart holds both products (added in alternating order), so
+        // all checkouts contend for the same two stock rows
+        List<String> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            String email = "buyer" + i + "-" + run + "@example.com";
+            Product first = i % 2 == 0 ? a : b;
+            Product second = i % 2 == 0 ? b : a;
+            cartService.addItem(email, first.getId(), 1);
+            cartService.addItem(email, second.getId(), 1);
+            buyers.add(email);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (String email : buyers) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        checkoutService.checkout(email, null);
+                        return true;
+                    } catch (InsufficientStockException e) {
+                        return false;
+                    }
+                }));
+            }
+            go.countDown();
+
+            // any other exception (deadlock, lock timeout) fails the test here
+            int placed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) placed++;
+            }
+            assertThat(placed).isEqualTo(STOCK);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(stockOf(a)).isZero();
+        assertThat(stockOf(b)).isZero();
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE user_email LIKE ?",
+                Integer.class, "%-" + run + "@example.com"))
+                .isEqualTo(STOCK);
+    }
+
+    private int stockOf(Product p) {
+        return jdbc.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, p.getId());
+    }
+
+    private static Product product(String name) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(10.0);
+        p.setStock(STOCK);
+        p.setOwnerEmail("seller@example.com");
+        return p;
+    }
+}
@@ -0,0 +1,166 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.TestcontainersConfiguration;
+import com.wellness.wellness_backend.model.id.SnowflakeIdGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many buyers booking the same practitioner slot at once: the single
+// conditional UPDATE lets exactly one of them through, in either format.
+// Adding slots races the same way: one add of a slot wins, and an
+// expansion only reports the slots it inserted itself.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class SlotReservationConcurrencyTest {
+
+    private static final int CALLERS = 50;
+
+    @Autowired
+    private PractitionerAvailabilityService availabilityService;
+
+    @Autowired
+    private AvailabilityStore store;
+
+    @Autowired
+    private DayMaskAvailabilityStore dayMaskStore;
+
+    @Autowired
+    private RowAvailabilityStore rowStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void exactlyOneReserveSlotWins() throws Exception {
+
+        Long practitionerId = SnowflakeIdGenerator.nextId();
+        LocalDateTime slot = LocalDate.now().plusDays(1).atTime(10, 0);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> store.add(practitionerId, slot));
+
+        // the losers must see 409, not 404 or a lock error
+        int won = race(() -> {
+            try {
+                tx.executeWithoutResult(s -> availabilityService.reserveSlot(practitionerId, slot));
+                return true;
+            } catch (ResponseStatusException e) {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                return false;
+            }
+        });
+
+        assertThat(won).isEqualTo(1);
+        assertThat(store.exists(practitionerId, slot)).isTrue();
+        assertThat(store.freeSlots(practitionerId)).doesNotContain(slot);
+    }
+
+    @Test
+    void exactlyOneDayMaskReserveWins() throws Exception {
+
+        Long practitionerId = SnowflakeIdGenerator.nextId();
+        LocalDateTime slot = LocalDate.now().plusDays(1).atTime(10, 0);
+        // a free neighbour on the same day row must survive the race
+        LocalDateTime neighbour = slot.plusMinutes(15);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> dayMaskStore.addAll(practitionerId, List.of(slot, neighbour)));
+
+        int won = race(() -> Boolean.TRUE.equals(
+                tx.execute(s -> dayMaskStore.reserve(practitionerId, slot))));
+
+        assertThat(won).isEqualTo(1);
+        assertThat(dayMaskStore.freeSlots(practitionerId)).containsExactly(neighbour);
+    }
+
+    @Test
+    void exactlyOneAddOfASlotWins() throws Exception {
+
+        Long practitionerId = SnowflakeIdGenerator.nextId();
+        LocalDateTime slot = LocalDate.now().plusDays(1).atTime(11, 0);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // the losers must see 409, not a unique-key violation
+        int won = race(() -> {
+            try {
+                tx.executeWithoutResult(s -> rowStore.add(practitionerId, slot));
+                return true;
+            } catch (ResponseStatusException e) {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                return false;
+            }
+        });
+
+        assertThat(won).isEqualTo(1);
+        assertThat(rowStore.freeSlots(practitionerId)).containsExactly(slot);
+    }
+
+    @Test
+    void concurrentAddAllReportsEachSlotOnce() throws Exception {
+
+        Long practitionerId = SnowflakeIdGenerator.nextId();
+        LocalDateTime first = LocalDate.now().plusDays(1).atTime(9, 0);
+        List<LocalDateTime> slots = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            slots.add(first.plusMinutes(15L * i));
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<LocalDateTime> reported = Collections.synchronizedList(new ArrayList<>());
+
+        race(() -> {
+            reported.addAll(tx.execute(s -> rowStore.addAll(practitionerId, slots)));
+            return true;
+        });
+
+        // each slot announced (and indexed) by exactly one caller
+        assertThat(reported).containsExactlyInAnyOrderElementsOf(slots);
+        assertThat(rowStore.freeSlots(practitionerId)).containsExactlyElementsOf(slots);
+    }
+
+    // runs CALLERS copies of attempt at once; returns how many returned true.
+    // Any unexpected exception fails the test through Future.get.
+    private static int race(Callable<Boolean> attempt) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return attempt.call();
+                }));
+            }
+            go.countDown();
+
+            int won = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) won++;
+            }
+            return won;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
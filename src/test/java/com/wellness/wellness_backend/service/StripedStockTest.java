@@ -0,0 +1,128 @@
+package com.wellness.wellness_backend.service;
+
+import com.wellness.wellness_backend.service.FlashSaleService.StripedStock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The flash-sale counters on their own (no Spring, no DB): concurrent
+// takes never sell more than the stock, and rollbacks put back exactly
+// what they took.
+class StripedStockTest {
+
+    private static final int STOCK = 10_000;
+    private static final int SHARDS = 16;
+    private static final int THREADS = 32;
+
+    @Test
+    void concurrentTakesNeverExceedStock() throws Exception {
+
+        StripedStock stock = new StripedStock(SHARDS, STOCK);
+
+        List<Integer> taken = race(stock, qty -> true);
+
+        int sold = taken.stream().mapToInt(Integer::intValue).sum();
+        assertThat(sold).isLessThanOrEqualTo(STOCK);
+        assertThat(sold + stock.remaining()).isEqualTo(STOCK);
+        // every buyer kept going until a single unit was refused
+        assertThat(stock.remaining()).isZero();
+    }
+
+    @Test
+    void rollbacksConserveStock() throws Exception {
+
+        StripedStock stock = new StripedStock(SHARDS, STOCK);
+
+        // roughly a third of the successful takes roll back right away
+        List<Integer> kept = race(stock, qty -> {
+            if (ThreadLocalRandom.current().nextInt(3) == 0) {
+                stock.giveBack(qty);
+                return false;
+            }
+            return true;
+        });
+
+        int sold = kept.stream().mapToInt(Integer::intValue).sum();
+        assertThat(sold + stock.remaining()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void failedTakeLeavesStockUntouched() {
+
+        // 5 units over 4 shards: a take of 6 drains several shards first
+        StripedStock stock = new StripedStock(4, 5);
+
+        assertThat(stock.take(6)).isFalse();
+        assertThat(stock.remaining()).isEqualTo(5);
+
+        assertThat(stock.take(5)).isTrue();
+        assertThat(stock.remaining()).isZero();
+        assertThat(stock.take(1)).isFalse();
+    }
+
+    // THREADS buyers take 1-5 units at a time until the stock refuses a
+    // single unit; onTaken decides whether a successful take is kept.
+    // Returns the kept quantities. A watcher checks remaining() never
+    // goes negative meanwhile.
+    private static List<Integer> race(StripedStock stock, Outcome onTaken) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            Future<Integer> lowest = pool.submit(() -> {
+                int min = Integer.MAX_VALUE;
+                while (!done.get()) {
+                    min = Math.min(min, stock.remaining());
+                }
+                return min;
+            });
+
+            List<Future<List<Integer>>> buyers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                buyers.add(pool.submit(() -> {
+                    go.await();
+                    List<Integer> kept = new ArrayList<>();
+                    while (true) {
+                        int qty = ThreadLocalRandom.current().nextInt(1, 6);
+                        if (stock.take(qty)) {
+                            if (onTaken.keep(qty)) kept.add(qty);
+                        } else if (!stock.take(1)) {
+                            return kept;
+                        } else if (onTaken.keep(1)) {
+                            kept.add(1);
+                        }
+                    }
+                }));
+            }
+            go.countDown();
+
+            List<Integer> kept = new ArrayList<>();
+            for (Future<List<Integer>> buyer : buyers) {
+                kept.addAll(buyer.get(30, TimeUnit.SECONDS));
+            }
+            done.set(true);
+            assertThat(lowest.get(5, TimeUnit.SECONDS)).isNotNegative();
+            return kept;
+        } finally {
+            done.set(true);
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Outcome {
+        boolean keep(int qty);
+    }
+}